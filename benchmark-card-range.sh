@@ -0,0 +1,153 @@
+#!/bin/bash
+
+# DBT 일기카드 기간 조회 벤치마크
+# 별도 데이터베이스(${DB_NAME}_bench)에 카드 100만 건을 만들고,
+# 앱이 실행하는 기간 조회 쿼리의 실행 계획과 실제 실행 시간을 인덱스 유무별로 비교합니다.
+#
+# 사용법: ./benchmark-card-range.sh [반복 횟수]
+
+# .env 파일에서 데이터베이스 정보 읽기
+if [ -f .env ]; then
+    source <(grep -v '^#' .env | sed 's/^/export /')
+fi
+
+DB_NAME=${DB_NAME:-counseling_db}
+DB_USERNAME=${DB_USERNAME:-root}
+DB_PASSWORD=${DB_PASSWORD:-root}
+BENCH_DB="${DB_NAME}_bench"
+RUNS=${1:-20}
+
+# 상담방 200개 × 내담자 25명 × 200일 = 카드 100만 건
+ROOMS=200
+CLIENTS_PER_ROOM=25
+DAYS=200
+
+# MySQL 경로 찾기
+MYSQL_CMD=""
+if command -v mysql &> /dev/null; then
+    MYSQL_CMD="mysql"
+elif [ -f "/usr/local/mysql/bin/mysql" ]; then
+    MYSQL_CMD="/usr/local/mysql/bin/mysql"
+elif [ -f "/opt/homebrew/bin/mysql" ]; then
+    MYSQL_CMD="/opt/homebrew/bin/mysql"
+else
+    echo "❌ MySQL을 찾을 수 없습니다."
+    exit 1
+fi
+
+mysql_bench() {
+    $MYSQL_CMD -u "$DB_USERNAME" -p"$DB_PASSWORD" "$BENCH_DB" "$@" 2>/dev/null
+}
+
+echo "=== DBT 일기카드 기간 조회 벤치마크 ==="
+echo "데이터베이스: $BENCH_DB (카드 $((ROOMS * CLIENTS_PER_ROOM * DAYS))건)"
+echo ""
+
+# 1. 스키마 생성 (엔티티와 같은 키/인덱스, 본문 컬럼은 하나만 두어 행 크기를 비슷하게 맞춤)
+echo "1. 스키마 생성..."
+$MYSQL_CMD -u "$DB_USERNAME" -p"$DB_PASSWORD" -e "DROP DATABASE IF EXISTS $BENCH_DB; CREATE DATABASE $BENCH_DB CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci;" 2>/dev/null
+if [ $? -ne 0 ]; then
+    echo "❌ 벤치마크 데이터베이스를 만들 수 없습니다."
+    exit 1
+fi
+
+mysql_bench <<'SQL'
+CREATE TABLE users (
+    user_id VARCHAR(255) PRIMARY KEY,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    name VARCHAR(255) NOT NULL
+);
+CREATE TABLE rooms (
+    room_id VARCHAR(255) PRIMARY KEY,
+    name VARCHAR(255) NOT NULL
+);
+CREATE TABLE dbt_cards (
+    card_id VARCHAR(255) PRIMARY KEY,
+    room_id VARCHAR(255) NOT NULL,
+    client_id VARCHAR(255) NOT NULL,
+    date DATE NOT NULL,
+    thought_text TEXT,
+    submitted_at DATETIME(6),
+    updated_at DATETIME(6),
+    UNIQUE KEY uk_room_client_date (room_id, client_id, date),
+    CONSTRAINT fk_cards_room FOREIGN KEY (room_id) REFERENCES rooms (room_id),
+    CONSTRAINT fk_cards_client FOREIGN KEY (client_id) REFERENCES users (user_id)
+);
+SQL
+
+# 2. 데이터 생성
+echo "2. 데이터 생성 중 (수 분 걸릴 수 있습니다)..."
+START=$(date +%s)
+mysql_bench <<SQL
+SET SESSION cte_max_recursion_depth = 100000;
+INSERT INTO rooms (room_id, name)
+WITH RECURSIVE seq(n) AS (SELECT 0 UNION ALL SELECT n + 1 FROM seq WHERE n < $ROOMS - 1)
+SELECT CONCAT('room-', n), CONCAT('상담방 ', n) FROM seq;
+
+INSERT INTO users (user_id, email, name)
+WITH RECURSIVE seq(n) AS (SELECT 0 UNION ALL SELECT n + 1 FROM seq WHERE n < $ROOMS * $CLIENTS_PER_ROOM - 1)
+SELECT CONCAT('client-', n), CONCAT('client', n, '@bench.test'), CONCAT('내담자 ', n) FROM seq;
+
+INSERT INTO dbt_cards (card_id, room_id, client_id, date, thought_text, submitted_at, updated_at)
+WITH RECURSIVE days(d) AS (SELECT 0 UNION ALL SELECT d + 1 FROM days WHERE d < $DAYS - 1)
+SELECT CONCAT(u.user_id, '-', days.d),
+       CONCAT('room-', CAST(SUBSTRING(u.user_id, 8) AS UNSIGNED) DIV $CLIENTS_PER_ROOM),
+       u.user_id,
+       DATE_SUB('2026-06-30', INTERVAL days.d DAY),
+       REPEAT('가', 200),
+       NOW(6), NOW(6)
+FROM users u CROSS JOIN days;
+
+ANALYZE TABLE dbt_cards;
+SQL
+echo "   완료 ($(( $(date +%s) - START ))초)"
+echo ""
+
+# 앱이 실행하는 쿼리와 같은 형태 (한 페이지 50건 + 다음 페이지 확인용 1건)
+Q_ROOM_RANGE="SELECT d.*, c.name, c.email FROM dbt_cards d JOIN users c ON c.user_id = d.client_id
+  WHERE d.room_id = 'room-42' AND d.date >= '2026-06-01' AND d.date <= '2026-06-07'
+  ORDER BY d.date, d.card_id LIMIT 51"
+Q_CLIENT_RANGE="SELECT d.*, c.name, c.email FROM dbt_cards d JOIN users c ON c.user_id = d.client_id
+  WHERE d.room_id = 'room-42' AND c.user_id = 'client-1060' AND d.date >= '2026-04-01' AND d.date <= '2026-06-30'
+  ORDER BY d.date, d.card_id LIMIT 51"
+Q_CLIENT_ALL_ROOMS="SELECT COUNT(*) FROM dbt_cards d
+  WHERE d.client_id = 'client-1060' AND d.date >= '2026-04-01' AND d.date <= '2026-06-30'"
+
+# EXPLAIN ANALYZE 최상위 노드의 실제 실행 시간 (ms)
+measure() {
+    local name=$1
+    local query=$2
+    local total=0
+    local plan=""
+    for ((i = 0; i < RUNS; i++)); do
+        local output
+        output=$(mysql_bench -N -e "EXPLAIN ANALYZE $query")
+        local elapsed
+        elapsed=$(echo "$output" | head -1 | grep -o 'actual time=[0-9.]*\.\.[0-9.]*' | head -1 | sed 's/.*\.\.//')
+        total=$(echo "$total + ${elapsed:-0}" | bc -l)
+        plan=$output
+    done
+    printf "   %-28s 평균 %8.3f ms\n" "$name" "$(echo "$total / $RUNS" | bc -l)"
+    echo "$plan" | sed 's/\\n/\n/g' | grep -E -- "-> (Index|Table|Covering|Sort|Filter)" | head -3 | sed 's/^ */      /'
+}
+
+run_all() {
+    measure "상담방 주간 조회" "$Q_ROOM_RANGE"
+    measure "내담자 분기 조회" "$Q_CLIENT_RANGE"
+    measure "내담자 전체 상담방 집계" "$Q_CLIENT_ALL_ROOMS"
+}
+
+# 3. 유니크 키와 FK 인덱스만 있는 상태
+echo "3. 추가 인덱스 없이 (${RUNS}회 평균)"
+run_all
+echo ""
+
+# 4. 엔티티에 정의한 인덱스 추가
+echo "4. idx_dbt_cards_room_date, idx_dbt_cards_client_date 추가 후 (${RUNS}회 평균)"
+mysql_bench -e "CREATE INDEX idx_dbt_cards_room_date ON dbt_cards (room_id, date);
+                CREATE INDEX idx_dbt_cards_client_date ON dbt_cards (client_id, date);
+                ANALYZE TABLE dbt_cards;" > /dev/null
+run_all
+echo ""
+
+echo "벤치마크 데이터베이스 삭제: $MYSQL_CMD -u $DB_USERNAME -p -e \"DROP DATABASE $BENCH_DB\""
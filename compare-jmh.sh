@@ -0,0 +1,52 @@
+#!/bin/bash
+
+# JMH 결과 비교
+# 두 결과 파일(./gradlew jmh가 만드는 build/results/jmh/results.json)의 벤치마크별 점수와 변화율을 출력합니다.
+# 점수는 평균 실행 시간이므로 변화율이 양수이면 느려진 것입니다.
+#
+# 사용법: ./compare-jmh.sh <기준 results.json> <비교 results.json> [허용 변화율 %, 기본 10]
+
+if [ $# -lt 2 ]; then
+    echo "사용법: $0 <기준 results.json> <비교 results.json> [허용 변화율 %]"
+    exit 1
+fi
+
+if ! command -v jq &> /dev/null; then
+    echo "❌ jq를 찾을 수 없습니다."
+    exit 1
+fi
+
+BASELINE=$1
+CURRENT=$2
+THRESHOLD=${3:-10}
+
+# 벤치마크 이름 + 파라미터를 키로 사용
+to_rows() {
+    jq -r '.[] | [(.benchmark | split(".") | .[-2:] | join(".")) +
+                  (if .params then " " + (.params | to_entries | map("\(.key)=\(.value)") | join(",")) else "" end),
+                  .primaryMetric.score, .primaryMetric.scoreUnit] | @tsv' "$1"
+}
+
+REGRESSIONS=0
+printf "%-60s %14s %14s %9s\n" "벤치마크" "기준" "비교" "변화"
+while IFS=$'\t' read -r name score unit; do
+    base=$(to_rows "$BASELINE" | awk -F'\t' -v n="$name" '$1 == n { print $2 }')
+    if [ -z "$base" ]; then
+        printf "%-60s %14s %14.3f %9s\n" "$name" "-" "$score" "new"
+        continue
+    fi
+    change=$(awk -v b="$base" -v s="$score" 'BEGIN { printf "%.3f", (s - b) * 100 / b }')
+    mark=""
+    if awk -v c="$change" -v t="$THRESHOLD" 'BEGIN { exit !(c > t) }'; then
+        mark=" ⚠️"
+        REGRESSIONS=$((REGRESSIONS + 1))
+    fi
+    printf "%-60s %14.3f %14.3f %+8.1f%%%s  (%s)\n" "$name" "$base" "$score" "$change" "$mark" "$unit"
+done < <(to_rows "$CURRENT")
+
+echo ""
+if [ $REGRESSIONS -gt 0 ]; then
+    echo "❌ ${THRESHOLD}% 이상 느려진 벤치마크: ${REGRESSIONS}개"
+    exit 1
+fi
+echo "✅ ${THRESHOLD}% 이상 느려진 벤치마크 없음"
@@ -0,0 +1,85 @@
+package com.counseling.service;
+
+import com.counseling.config.ExportProperties;
+import com.counseling.entity.DBTCard;
+import com.counseling.entity.Room;
+import com.counseling.entity.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// 벤치마크용 카드 데이터 (모든 항목을 채운 실제 제출 크기의 카드)
+final class BenchmarkCards {
+
+    private BenchmarkCards() {
+    }
+
+    // 매핑만 사용하므로 저장소 등 다른 의존성은 비워 둔다
+    static DBTCardService mappingOnlyService() {
+        return new DBTCardService(null, null, null, null, null, null, null, null, null,
+                new ObjectMapper(), new ExportProperties(), null, null, null, null, null);
+    }
+
+    static List<DBTCard> cards(int count) {
+        Room room = Room.builder()
+                .roomId(UUID.randomUUID().toString())
+                .name("상담방")
+                .build();
+        User client = User.builder()
+                .userId(UUID.randomUUID().toString())
+                .email("client@bench.test")
+                .name("내담자")
+                .userType(User.UserType.client)
+                .build();
+
+        List<DBTCard> cards = new ArrayList<>(count);
+        LocalDate start = LocalDate.of(2026, 1, 1);
+        for (int i = 0; i < count; i++) {
+            cards.add(DBTCard.builder()
+                    .cardId(UUID.randomUUID().toString())
+                    .room(room)
+                    .client(client)
+                    .date(start.plusDays(i))
+                    .headerName("내담자")
+                    .headerWrittenDuringCounseling(DBTCard.YesNo.no)
+                    .headerFrequency("daily")
+                    .impulse1Text("자해 충동")
+                    .impulse1Intensity(String.valueOf(i % 6))
+                    .action1Text("산책")
+                    .action1Intensity(String.valueOf((i + 1) % 6))
+                    .thoughtText("오늘은 회의에서 발표를 하면서 긴장했지만 끝까지 마쳤다. 저녁에는 조금 불안했다.")
+                    .thoughtIntensity(String.valueOf((i + 2) % 6))
+                    .action2Text("호흡 연습")
+                    .action2Intensity(String.valueOf((i + 3) % 6))
+                    .impulse2Text("폭식 충동")
+                    .impulse2Intensity(String.valueOf((i + 4) % 6))
+                    .action3Text("일기 쓰기")
+                    .action3Intensity(String.valueOf((i + 5) % 6))
+                    .medication(DBTCard.YesNo.yes)
+                    .targetBehavior1("수면 시간 지키기")
+                    .targetBehavior2("식사 거르지 않기")
+                    .skillUse("3")
+                    .sleepTime("23:30")
+                    .wakeTime("07:00")
+                    .anger(String.valueOf(i % 6))
+                    .angerKeyword("짜증")
+                    .fear(String.valueOf((i + 1) % 6))
+                    .fearKeyword("걱정")
+                    .joy(String.valueOf((i + 2) % 6))
+                    .joyKeyword("뿌듯함")
+                    .anxiety(String.valueOf((i + 3) % 6))
+                    .anxietyKeyword("긴장")
+                    .sadness(String.valueOf((i + 4) % 6))
+                    .sadnessKeyword("외로움")
+                    .submittedAt(LocalDateTime.of(2026, 1, 1, 21, 0).plusDays(i))
+                    .updatedAt(LocalDateTime.of(2026, 1, 1, 21, 0).plusDays(i))
+                    .version(0L)
+                    .build());
+        }
+        return cards;
+    }
+}
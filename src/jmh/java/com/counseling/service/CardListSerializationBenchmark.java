@@ -0,0 +1,62 @@
+package com.counseling.service;
+
+import com.counseling.dto.ApiResponse;
+import com.counseling.dto.DBTCardResponse;
+import com.counseling.entity.DBTCard;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+// 카드 목록 응답(ApiResponse<List<DBTCardResponse>>) JSON 직렬화
+// size는 한 건 조회, 기본 페이지(pagination.default-size), 최대 페이지(pagination.max-size)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CardListSerializationBenchmark {
+
+    @Param({"1", "50", "200"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<List<DBTCardResponse>> response;
+
+    @Setup
+    public void setUp() {
+        // application.yml의 spring.jackson 설정과 같게 구성
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'");
+        dateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .timeZone("UTC")
+                .dateFormat(dateFormat)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        DBTCardService service = BenchmarkCards.mappingOnlyService();
+        List<DBTCardResponse> items = new ArrayList<>(size);
+        for (DBTCard card : BenchmarkCards.cards(size)) {
+            items.add(service.toResponseWithClientInfo(card));
+        }
+        response = ApiResponse.success(items);
+        response.setNext(size > 1 ? "MjAyNi0wMS0wMXxjYXJkLWlk" : null);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
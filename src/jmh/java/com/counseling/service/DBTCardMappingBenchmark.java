@@ -0,0 +1,39 @@
+package com.counseling.service;
+
+import com.counseling.dto.DBTCardResponse;
+import com.counseling.entity.DBTCard;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+// 카드 엔티티 -> 응답 DTO 변환 (목록 조회 시 카드마다 실행)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DBTCardMappingBenchmark {
+
+    private DBTCardService service;
+    private DBTCard card;
+
+    @Setup
+    public void setUp() {
+        service = BenchmarkCards.mappingOnlyService();
+        card = BenchmarkCards.cards(1).get(0);
+    }
+
+    @Benchmark
+    public DBTCardResponse toResponse() {
+        return service.toResponse(card);
+    }
+
+    @Benchmark
+    public DBTCardResponse toResponseWithClientInfo() {
+        return service.toResponseWithClientInfo(card);
+    }
+}
@@ -0,0 +1,55 @@
+package com.counseling.util;
+
+import com.counseling.config.JwtProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// 토큰 발급과 요청마다 실행되는 토큰 검증
+// claimsCacheSize=0은 매번 서명 검증, 10000은 검증된 토큰 캐시 적중 경로
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtUtilBenchmark {
+
+    @Param({"0", "10000"})
+    private int claimsCacheSize;
+
+    private JwtUtil jwtUtil;
+    private String userId;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret("benchmark-secret-key-must-be-at-least-256-bits-long");
+        properties.setExpiration(3600000);
+        properties.setClaimsCacheSize(claimsCacheSize);
+        jwtUtil = new JwtUtil(properties);
+        userId = UUID.randomUUID().toString();
+        token = jwtUtil.generateToken(userId, "client");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(userId, "client");
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        return jwtUtil.validateToken(token, userId);
+    }
+
+    @Benchmark
+    public String getUserType() {
+        return jwtUtil.getUserType(token);
+    }
+}
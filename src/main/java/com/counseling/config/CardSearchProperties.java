@@ -0,0 +1,19 @@
+package com.counseling.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "card-search")
+public class CardSearchProperties {
+    // 메모리에 유지할 상담방 색인 최대 수 (초과 시 가장 오래 검색하지 않은 상담방부터 제거)
+    private int maxRooms = 200;
+    // 이 시간 동안 검색하지 않은 상담방 색인은 제거 (다음 검색 시 다시 생성)
+    private long idleMillis = 1800000;
+    // 검색어 최대 길이
+    private int maxQueryLength = 100;
+}
@@ -0,0 +1,19 @@
+package com.counseling.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "emotion-keywords")
+public class EmotionKeywordProperties {
+    // 키워드 횟수를 유지하는 주 수 (조회 가능한 최대 기간, 지난 주는 주기적으로 삭제)
+    private int retentionWeeks = 53;
+    // 한 번에 조회할 수 있는 최대 키워드 수
+    private int maxLimit = 50;
+    // 보관 기간이 지난 행 삭제 배치 크기
+    private int sweepBatchSize = 1000;
+}
@@ -0,0 +1,17 @@
+package com.counseling.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "export")
+public class ExportProperties {
+    // 동시에 진행할 수 있는 내보내기 수 (초과 시 즉시 거절, 내보내기마다 DB 연결 하나를 끝까지 점유)
+    private int maxConcurrent = 4;
+    // xlsx 작성 시 메모리에 유지하는 행 수 (나머지는 임시 파일로 내려씀)
+    private int xlsxRowWindow = 100;
+}
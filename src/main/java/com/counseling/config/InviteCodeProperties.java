@@ -0,0 +1,17 @@
+package com.counseling.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "invite-code")
+public class InviteCodeProperties {
+    // 카운터 → 코드 순열의 키 (노출되면 코드 순서를 추측할 수 있으므로 비밀로 관리)
+    private String secret;
+    // 한 번에 예약하는 카운터 개수
+    private int blockSize = 100;
+}
@@ -12,5 +12,7 @@ import org.springframework.stereotype.Component;
 public class JwtProperties {
     private String secret;
     private long expiration;
+    // 검증된 토큰 Claims 캐시 최대 개수 (0이면 캐시 사용 안 함)
+    private int claimsCacheSize = 10000;
 }
 
@@ -0,0 +1,23 @@
+package com.counseling.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "pagination")
+public class PaginationProperties {
+    private int defaultSize = 50;
+    private int maxSize = 200;
+
+    // 요청한 페이지 크기를 1 ~ maxSize 범위로 보정
+    public int resolveSize(Integer requestedSize) {
+        if (requestedSize == null || requestedSize <= 0) {
+            return defaultSize;
+        }
+        return Math.min(requestedSize, maxSize);
+    }
+}
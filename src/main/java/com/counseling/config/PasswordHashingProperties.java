@@ -0,0 +1,25 @@
+package com.counseling.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "password-hashing")
+public class PasswordHashingProperties {
+    // BCrypt 전용 스레드 수
+    private int poolSize = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    // 대기열 최대 길이 (초과 시 즉시 거절)
+    private int queueCapacity = 32;
+    // 대기 + 해싱 최대 시간 (ms)
+    private long timeoutMillis = 5000;
+    // 0이면 시작 시 targetMillis 기준으로 자동 보정
+    private int strength = 0;
+    // 해시 1회 목표 시간 (ms)
+    private long targetMillis = 250;
+    private int minStrength = 10;
+    private int maxStrength = 14;
+}
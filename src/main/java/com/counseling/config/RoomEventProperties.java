@@ -0,0 +1,25 @@
+package com.counseling.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "room-events")
+public class RoomEventProperties {
+    // SSE 연결 유지 시간 (ms), 만료되면 클라이언트가 Last-Event-ID로 재연결
+    private long timeoutMillis = 1_800_000;
+    // 재연결 시 다시 보내기 위해 상담방별로 보관하는 최근 이벤트 수
+    private int replaySize = 50;
+    // 최근 이벤트 보관 시간 (ms)
+    private long replayRetentionMillis = 600_000;
+    // 이벤트 전송 스레드 최대 수 (연결 수와 무관, 전송할 것이 없으면 반납)
+    private int dispatchThreads = 16;
+    // 구독자별 전송 대기 이벤트 수 상한, 넘으면 연결을 끊고 재연결 시 재전송/reset으로 복구
+    private int maxPendingEvents = 100;
+    // 전송 하나가 이 시간(ms)을 넘기면 멈춘 연결로 보고 끊음
+    private long sendTimeoutMillis = 10_000;
+}
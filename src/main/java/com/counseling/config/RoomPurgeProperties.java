@@ -0,0 +1,19 @@
+package com.counseling.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "room-purge")
+public class RoomPurgeProperties {
+    // 한 트랜잭션에서 삭제할 최대 행 수
+    private int batchSize = 500;
+    // 배치 사이 대기 시간 (ms)
+    private long throttleMillis = 50;
+    // 한 번의 실행에서 처리할 최대 상담방 수
+    private int roomsPerRun = 10;
+}
@@ -1,6 +1,9 @@
 package com.counseling.config;
 
 import com.counseling.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -18,11 +21,14 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
+    private static final Logger logger = LoggerFactory.getLogger(SecurityConfig.class);
+
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
     public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter) {
@@ -50,8 +56,11 @@ public class SecurityConfig {
                     "/configuration/**",
                     "/configuration/ui",
                     "/configuration/security",
-                    "/favicon.ico"
+                    "/favicon.ico",
+                    "/actuator/health"
                 ).permitAll()
+                // SSE 연결 종료 시의 비동기 디스패치 (최초 요청에서 이미 인증됨)
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .anyRequest().authenticated()
             )
             .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
@@ -60,8 +69,28 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties properties) {
+        int strength = properties.getStrength() > 0 ? properties.getStrength() : calibrateStrength(properties);
+        logger.info("BCrypt strength: {}", strength);
+        return new BCryptPasswordEncoder(strength);
+    }
+
+    // 해시 1회가 목표 시간 안에 끝나는 가장 높은 cost를 선택 (cost가 1 오르면 시간은 약 2배)
+    private int calibrateStrength(PasswordHashingProperties properties) {
+        String sample = "calibration-password";
+        new BCryptPasswordEncoder(properties.getMinStrength()).encode(sample); // JIT 예열
+
+        int strength = properties.getMinStrength();
+        while (strength < properties.getMaxStrength()) {
+            long start = System.nanoTime();
+            new BCryptPasswordEncoder(strength).encode(sample);
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            if (elapsedMillis * 2 > properties.getTargetMillis()) {
+                break;
+            }
+            strength++;
+        }
+        return strength;
     }
 
     @Bean
@@ -73,9 +102,9 @@ public class SecurityConfig {
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(List.of("*"));
-        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(List.of("*"));
-        configuration.setExposedHeaders(List.of("Authorization"));
+        configuration.setExposedHeaders(List.of("Authorization", "ETag"));
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
         return source;
@@ -1,16 +1,32 @@
 package com.counseling.controller;
 
 import com.counseling.dto.ApiResponse;
+import com.counseling.dto.CardSearchHit;
+import com.counseling.dto.CursorPage;
+import com.counseling.dto.DBTCardBatchRequest;
+import com.counseling.dto.DBTCardBatchResponse;
+import com.counseling.dto.DBTCardPatchResponse;
 import com.counseling.dto.DBTCardRequest;
 import com.counseling.dto.DBTCardResponse;
+import com.counseling.dto.DBTCardSummary;
+import com.counseling.dto.EmotionKeywordResponse;
+import com.counseling.dto.EmotionTrendResponse;
+import com.counseling.service.CardExport;
+import com.counseling.service.CardExportFormat;
 import com.counseling.service.DBTCardService;
+import com.counseling.service.EmotionRollupService;
+import com.fasterxml.jackson.databind.JsonNode;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -21,9 +37,11 @@ import java.util.List;
 public class DBTCardController {
 
     private final DBTCardService dbtCardService;
+    private final EmotionRollupService emotionRollupService;
 
-    public DBTCardController(DBTCardService dbtCardService) {
+    public DBTCardController(DBTCardService dbtCardService, EmotionRollupService emotionRollupService) {
         this.dbtCardService = dbtCardService;
+        this.emotionRollupService = emotionRollupService;
     }
 
     @PostMapping
@@ -36,23 +54,170 @@ public class DBTCardController {
                 .body(ApiResponse.success("DBT 일기카드가 저장되었습니다.", response));
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "DBT 일기카드 일괄 작성/수정", description = "내담자가 여러 날짜(최대 31일)의 DBT 일기카드를 한 번에 작성하거나 수정합니다. 날짜별 저장 결과(created/updated/invalid)를 반환합니다.")
+    public ResponseEntity<ApiResponse<DBTCardBatchResponse>> createOrUpdateCards(
+            @PathVariable String roomId,
+            @Valid @RequestBody DBTCardBatchRequest request) {
+        DBTCardBatchResponse response = dbtCardService.createOrUpdateCards(roomId, request);
+        return ResponseEntity.ok(ApiResponse.success(response.getSavedCount() + "건의 DBT 일기카드가 저장되었습니다.", response));
+    }
+
+    @PatchMapping(value = "/{date}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "DBT 일기카드 부분 저장", description = "내담자가 날짜 카드의 바뀐 항목만 JSON Merge Patch(RFC 7386)로 보냅니다. null은 값 삭제이며, 응답은 카드 ID와 버전만 반환합니다.")
+    public ResponseEntity<ApiResponse<DBTCardPatchResponse>> patchCard(
+            @PathVariable String roomId,
+            @PathVariable String date,
+            @RequestBody JsonNode patch) {
+        DBTCardPatchResponse response = dbtCardService.patchCard(roomId, date, patch);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
     @GetMapping("/my")
-    @Operation(summary = "내 DBT 일기카드 조회", description = "내담자가 자신의 DBT 일기카드를 조회합니다.")
+    @Operation(summary = "내 DBT 일기카드 조회", description = "내담자가 자신의 DBT 일기카드를 조회합니다. date로 하루, from/to로 기간(양 끝 포함)을 지정할 수 있습니다. 날짜순으로 페이지 단위 조회하며, 응답의 next 커서로 다음 페이지를 요청합니다.")
     public ResponseEntity<ApiResponse<List<DBTCardResponse>>> getMyCards(
             @PathVariable String roomId,
-            @RequestParam(required = false) String date) {
-        List<DBTCardResponse> response = dbtCardService.getMyCards(roomId, date);
+            @RequestParam(required = false) String date,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest webRequest) {
+        String etag = dbtCardService.getMyCardsETag(roomId);
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        CursorPage<DBTCardResponse> response = dbtCardService.getMyCards(roomId, date, from, to, cursor, size);
+        return ResponseEntity.ok(ApiResponse.page(response));
+    }
+
+    @GetMapping(value = "/my", params = "view=summary")
+    @Operation(summary = "내 DBT 일기카드 요약 조회", description = "view=summary: 본문(TEXT) 없이 날짜, 강도, 약 복용, 제출 시각만 조회합니다. 본문은 카드 단건 조회로 가져옵니다.")
+    public ResponseEntity<ApiResponse<List<DBTCardSummary>>> getMyCardSummaries(
+            @PathVariable String roomId,
+            @RequestParam(required = false) String date,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest webRequest) {
+        String etag = dbtCardService.getMyCardsETag(roomId);
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        CursorPage<DBTCardSummary> response = dbtCardService.getMyCardSummaries(roomId, date, from, to, cursor, size);
+        return ResponseEntity.ok(ApiResponse.page(response));
+    }
+
+    @GetMapping(params = "view=summary")
+    @Operation(summary = "내담자별 DBT 일기카드 요약 조회", description = "view=summary: 본문(TEXT) 없이 날짜, 강도, 약 복용, 제출 시각만 조회합니다. 달력 등 목록 화면용이며, 본문은 카드 단건 조회로 가져옵니다.")
+    public ResponseEntity<ApiResponse<List<DBTCardSummary>>> getCardSummaries(
+            @PathVariable String roomId,
+            @RequestParam(required = false) String date,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String clientId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest webRequest) {
+        String etag = dbtCardService.getCardsETag(roomId);
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        CursorPage<DBTCardSummary> response = dbtCardService.getCardSummaries(roomId, date, from, to, clientId, cursor, size);
+        return ResponseEntity.ok(ApiResponse.page(response));
+    }
+
+    @GetMapping("/{cardId}")
+    @Operation(summary = "DBT 일기카드 단건 조회", description = "본문을 포함한 카드 하나를 조회합니다. 내담자는 자신의 카드만, 상담사는 자신이 만든 상담방의 카드를 조회할 수 있습니다.")
+    public ResponseEntity<ApiResponse<DBTCardResponse>> getCard(
+            @PathVariable String roomId,
+            @PathVariable String cardId) {
+        DBTCardResponse response = dbtCardService.getCard(roomId, cardId);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    @GetMapping("/trends")
+    @Operation(summary = "감정 추이 조회", description = "내담자의 감정·충동·행동 강도를 주(week) 또는 월(month) 단위 집계(건수, 합계, 최소, 최대, 평균)로 조회합니다. 상담사는 clientId를 지정하고, 내담자는 자신의 추이만 조회합니다. from/to를 생략하면 최근 12개 기간을 조회합니다.")
+    public ResponseEntity<ApiResponse<EmotionTrendResponse>> getTrends(
+            @PathVariable String roomId,
+            @RequestParam(required = false) String clientId,
+            @RequestParam(defaultValue = "week") String period,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to) {
+        EmotionTrendResponse response = emotionRollupService.getTrends(roomId, clientId, period, from, to);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    @GetMapping("/keywords")
+    @Operation(summary = "감정 키워드 상위 K개", description = "최근 weeks주(이번 주 포함) 동안 감정(emotion: anger, fear, joy, anxiety, sadness) 키워드로 많이 적힌 단어를 조회합니다. 상담사는 clientId를 생략하면 상담방 전체, 내담자는 자신의 키워드만 조회합니다.")
+    public ResponseEntity<ApiResponse<EmotionKeywordResponse>> getTopKeywords(
+            @PathVariable String roomId,
+            @RequestParam String emotion,
+            @RequestParam(required = false) String clientId,
+            @RequestParam(required = false) Integer weeks,
+            @RequestParam(required = false) Integer limit) {
+        EmotionKeywordResponse response = emotionRollupService.getTopKeywords(roomId, clientId, emotion, weeks, limit);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
+    @PostMapping("/keywords/rebuild")
+    @Operation(summary = "감정 키워드 집계 재생성", description = "상담사가 상담방의 감정 키워드 집계를 보관 기간(기본 53주)의 카드에서 다시 만듭니다. 집계 도입 전에 저장된 카드를 반영할 때 사용합니다.")
+    public ResponseEntity<ApiResponse<Void>> rebuildKeywords(@PathVariable String roomId) {
+        emotionRollupService.rebuildKeywords(roomId);
+        return ResponseEntity.ok(ApiResponse.success("감정 키워드 집계를 다시 만들었습니다.", null));
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "DBT 일기카드 검색", description = "충동·행동·생각 본문과 감정 키워드에서 검색어(q)가 나온 카드를 관련도순으로 조회합니다. 상담사는 clientId로 내담자 한 명을 지정할 수 있고, 내담자는 자신의 카드만 검색합니다. 응답의 next 커서로 다음 페이지를 요청합니다.")
+    public ResponseEntity<ApiResponse<List<CardSearchHit>>> searchCards(
+            @PathVariable String roomId,
+            @RequestParam String q,
+            @RequestParam(required = false) String clientId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPage<CardSearchHit> page = dbtCardService.searchCards(roomId, q, clientId, cursor, size);
+        return ResponseEntity.ok(ApiResponse.page(page));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "DBT 일기카드 내보내기", description = "상담사가 상담방의 DBT 일기카드를 NDJSON(한 줄에 카드 하나), CSV, XLSX로 내려받습니다. clientId로 내담자 한 명, from/to로 기간(양 끝 포함)을 지정할 수 있습니다. 카드 수와 관계없이 한 행씩 읽어 기록하며, 동시에 진행할 수 있는 내보내기 수를 넘으면 429를 반환합니다.")
+    public ResponseEntity<StreamingResponseBody> exportCards(
+            @PathVariable String roomId,
+            @RequestParam(defaultValue = CardExportFormat.DEFAULT_VALUE) String format,
+            @RequestParam(required = false) String clientId,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to) {
+        CardExport export = dbtCardService.prepareExport(roomId, format, clientId, from, to);
+        StreamingResponseBody body = out -> {
+            try (export) {
+                dbtCardService.writeExport(export, out);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(export.getFormat().getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + export.getFileName() + "\"")
+                .body(body);
+    }
+
     @GetMapping
-    @Operation(summary = "내담자별 DBT 일기카드 조회", description = "상담사가 내담자들의 DBT 일기카드를 조회합니다.")
+    @Operation(summary = "내담자별 DBT 일기카드 조회", description = "상담사가 내담자들의 DBT 일기카드를 조회합니다. date로 하루, from/to로 기간(양 끝 포함)을 지정할 수 있습니다. 날짜순으로 페이지 단위 조회하며, 응답의 next 커서로 다음 페이지를 요청합니다.")
     public ResponseEntity<ApiResponse<List<DBTCardResponse>>> getCards(
             @PathVariable String roomId,
             @RequestParam(required = false) String date,
-            @RequestParam(required = false) String clientId) {
-        List<DBTCardResponse> response = dbtCardService.getCards(roomId, date, clientId);
-        return ResponseEntity.ok(ApiResponse.success(response));
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String clientId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest webRequest) {
+        // 변경이 없으면 엔티티 조회와 직렬화 없이 304 응답
+        String etag = dbtCardService.getCardsETag(roomId);
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        CursorPage<DBTCardResponse> response = dbtCardService.getCards(roomId, date, from, to, clientId, cursor, size);
+        return ResponseEntity.ok(ApiResponse.page(response));
     }
 }
 
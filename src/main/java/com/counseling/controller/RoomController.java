@@ -1,6 +1,7 @@
 package com.counseling.controller;
 
 import com.counseling.dto.ApiResponse;
+import com.counseling.dto.CursorPage;
 import com.counseling.dto.JoinRoomRequest;
 import com.counseling.dto.RoomRequest;
 import com.counseling.dto.RoomResponse;
@@ -10,8 +11,11 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -36,19 +40,34 @@ public class RoomController {
     }
 
     @GetMapping
-    @Operation(summary = "상담방 목록 조회", description = "사용자가 참가한 상담방 목록을 조회합니다.")
-    public ResponseEntity<ApiResponse<List<RoomResponse>>> getRooms() {
-        List<RoomResponse> response = roomService.getRooms();
-        return ResponseEntity.ok(ApiResponse.success(response));
+    @Operation(summary = "상담방 목록 조회", description = "사용자가 참가한 상담방 목록을 생성순으로 페이지 단위 조회합니다. 응답의 next 커서로 다음 페이지를 요청합니다.")
+    public ResponseEntity<ApiResponse<List<RoomResponse>>> getRooms(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPage<RoomResponse> response = roomService.getRooms(cursor, size);
+        return ResponseEntity.ok(ApiResponse.page(response));
     }
 
     @GetMapping("/{roomId}")
-    @Operation(summary = "상담방 상세 조회", description = "상담방의 상세 정보를 조회합니다.")
-    public ResponseEntity<ApiResponse<RoomResponse>> getRoomDetail(@PathVariable String roomId) {
+    @Operation(summary = "상담방 상세 조회", description = "상담방의 상세 정보를 조회합니다. If-None-Match가 현재 ETag와 같으면 304를 반환합니다.")
+    public ResponseEntity<ApiResponse<RoomResponse>> getRoomDetail(@PathVariable String roomId, WebRequest webRequest) {
+        // 변경이 없으면 엔티티 조회와 직렬화 없이 304 응답
+        String etag = roomService.getRoomDetailETag(roomId);
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return null;
+        }
         RoomResponse response = roomService.getRoomDetail(roomId);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
+    @GetMapping(value = "/{roomId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "상담방 이벤트 구독", description = "카드 제출, 멤버 참가/나가기, 상담방 삭제를 SSE로 전달합니다. 상담방을 만든 상담사만 구독할 수 있으며, 재연결 시 Last-Event-ID 이후의 이벤트를 다시 보내고 복구할 수 없으면 reset 이벤트를 보냅니다.")
+    public SseEmitter subscribeEvents(
+            @PathVariable String roomId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return roomService.subscribeEvents(roomId, lastEventId);
+    }
+
     @PostMapping("/join")
     @Operation(summary = "상담방 참가", description = "내담자가 초대코드로 상담방에 참가합니다.")
     public ResponseEntity<ApiResponse<RoomResponse>> joinRoom(@Valid @RequestBody JoinRoomRequest request) {
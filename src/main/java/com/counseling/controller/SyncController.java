@@ -0,0 +1,32 @@
+package com.counseling.controller;
+
+import com.counseling.dto.ApiResponse;
+import com.counseling.dto.SyncResponse;
+import com.counseling.service.SyncService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/sync")
+@Tag(name = "동기화", description = "모바일 변경분 동기화 API")
+@SecurityRequirement(name = "bearerAuth")
+public class SyncController {
+
+    private final SyncService syncService;
+
+    public SyncController(SyncService syncService) {
+        this.syncService = syncService;
+    }
+
+    @GetMapping
+    @Operation(summary = "변경분 동기화", description = "since 커서 이후에 참가한 상담방, 저장된 내 카드(내담자), 나가거나 삭제된 상담방을 변경 순서대로 조회합니다. since를 생략하면 전체를 반환하며, hasMore가 true면 응답의 cursor로 이어서 요청합니다.")
+    public ResponseEntity<ApiResponse<SyncResponse>> getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) Integer size) {
+        SyncResponse response = syncService.getChanges(since, size);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+}
@@ -5,6 +5,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -14,6 +16,7 @@ public class ApiResponse<T> {
     private String message;
     private T data;
     private String error;
+    private String next; // 다음 페이지 커서 (목록 조회 시)
 
     public static <T> ApiResponse<T> success(T data) {
         return ApiResponse.<T>builder()
@@ -30,6 +33,14 @@ public class ApiResponse<T> {
                 .build();
     }
 
+    public static <T> ApiResponse<List<T>> page(CursorPage<T> page) {
+        return ApiResponse.<List<T>>builder()
+                .success(true)
+                .data(page.getItems())
+                .next(page.getNext())
+                .build();
+    }
+
     public static <T> ApiResponse<T> error(String message, String error) {
         return ApiResponse.<T>builder()
                 .success(false)
@@ -0,0 +1,21 @@
+package com.counseling.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CardSearchHit {
+    private String cardId;
+    private String clientId;
+    private LocalDate date;
+    private double score; // 높을수록 관련도가 높음
+    private List<String> fields; // 검색어가 나온 항목 (예: thoughtText, angerKeyword)
+}
@@ -0,0 +1,22 @@
+package com.counseling.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+    private final List<T> items;
+    private final String next; // 마지막 페이지면 null
+
+    // size + 1건을 조회한 결과로 다음 페이지 존재 여부를 판단
+    public static <E, T> CursorPage<T> of(List<E> fetched, int size, Function<E, T> mapper, Function<E, String> cursorOf) {
+        boolean hasNext = fetched.size() > size;
+        List<E> page = hasNext ? fetched.subList(0, size) : fetched;
+        String next = hasNext ? cursorOf.apply(page.get(page.size() - 1)) : null;
+        return new CursorPage<>(page.stream().map(mapper).toList(), next);
+    }
+}
@@ -0,0 +1,18 @@
+package com.counseling.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class DBTCardBatchRequest {
+    public static final int MAX_DAYS = 31;
+
+    @NotEmpty(message = "카드는 한 개 이상이어야 합니다.")
+    @Size(max = MAX_DAYS, message = "한 번에 최대 31일까지 저장할 수 있습니다.")
+    @Valid
+    private List<DBTCardRequest> cards;
+}
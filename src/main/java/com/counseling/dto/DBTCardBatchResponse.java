@@ -0,0 +1,34 @@
+package com.counseling.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DBTCardBatchResponse {
+    private int savedCount;
+    private int invalidCount;
+    private List<DayResult> results; // 요청 순서와 동일
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class DayResult {
+        public static final String CREATED = "created";
+        public static final String UPDATED = "updated";
+        public static final String UNCHANGED = "unchanged"; // 기존 카드와 내용이 같음 (재전송)
+        public static final String INVALID = "invalid";
+
+        private String date;
+        private String status;
+        private String cardId;
+        private String message; // invalid인 경우 사유
+    }
+}
@@ -0,0 +1,16 @@
+package com.counseling.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 부분 저장 응답 (카드 전체 대신 식별자와 버전만)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DBTCardPatchResponse {
+    private String cardId;
+    private Long version;
+}
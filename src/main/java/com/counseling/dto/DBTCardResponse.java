@@ -22,5 +22,6 @@ public class DBTCardResponse {
     private DBTCardRequest.HeaderInfo header;
     private DBTCardRequest.DayDataInfo dayData;
     private LocalDateTime submittedAt;
+    private Long version; // 내용이 바뀔 때마다 1씩 증가
 }
 
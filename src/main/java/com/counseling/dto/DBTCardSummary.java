@@ -0,0 +1,46 @@
+package com.counseling.dto;
+
+import com.counseling.entity.DBTCard;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// 목록(달력) 표시용 요약 (TEXT 컬럼 제외), 본문은 카드 단건 조회로 가져온다
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DBTCardSummary {
+    private String cardId;
+    private String clientId;
+    private String clientName;
+    private LocalDate date;
+    private String impulse1Intensity;
+    private String action1Intensity;
+    private String thoughtIntensity;
+    private String action2Intensity;
+    private String impulse2Intensity;
+    private String action3Intensity;
+    private String anger;
+    private String fear;
+    private String joy;
+    private String anxiety;
+    private String sadness;
+    private String medication; // "yes" or "no"
+    private LocalDateTime submittedAt;
+
+    // JPQL 생성자 표현식용
+    public DBTCardSummary(String cardId, String clientId, String clientName, LocalDate date,
+                          String impulse1Intensity, String action1Intensity, String thoughtIntensity,
+                          String action2Intensity, String impulse2Intensity, String action3Intensity,
+                          String anger, String fear, String joy, String anxiety, String sadness,
+                          DBTCard.YesNo medication, LocalDateTime submittedAt) {
+        this(cardId, clientId, clientName, date, impulse1Intensity, action1Intensity, thoughtIntensity,
+                action2Intensity, impulse2Intensity, action3Intensity, anger, fear, joy, anxiety, sadness,
+                medication != null ? medication.name() : null, submittedAt);
+    }
+}
@@ -0,0 +1,31 @@
+package com.counseling.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmotionKeywordResponse {
+    private String roomId;
+    private String clientId; // null이면 상담방 전체
+    private String emotion; // anger, fear, joy, anxiety, sadness
+    private LocalDate from;
+    private LocalDate to;
+    private List<KeywordCount> keywords; // 많이 나온 순
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class KeywordCount {
+        private String keyword;
+        private long count; // 기간 내 이 키워드를 적은 카드 수
+    }
+}
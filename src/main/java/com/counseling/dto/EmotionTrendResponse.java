@@ -0,0 +1,44 @@
+package com.counseling.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmotionTrendResponse {
+    private String roomId;
+    private String clientId;
+    private String period; // "week" or "month"
+    private LocalDate from;
+    private LocalDate to;
+    private List<PeriodStats> periods; // 기록이 있는 기간만 포함
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class PeriodStats {
+        private LocalDate periodStart;
+        private Map<String, MetricStats> metrics; // anger, fear, joy, anxiety, sadness, impulse1 ...
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class MetricStats {
+        private int count;
+        private long sum;
+        private Integer min;
+        private Integer max;
+        private Double average;
+    }
+}
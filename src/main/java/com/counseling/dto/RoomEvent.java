@@ -0,0 +1,32 @@
+package com.counseling.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 상담방 SSE 이벤트 (변경 알림만 전달하고 상세 내용은 기존 조회 API로 가져온다)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RoomEvent {
+    public static final String CARD_SAVED = "card.saved";
+    public static final String MEMBER_JOINED = "member.joined";
+    public static final String MEMBER_LEFT = "member.left";
+    public static final String ROOM_DELETED = "room.deleted";
+    // 재연결 시 놓친 이벤트를 복구할 수 없음 → 목록을 다시 조회해야 함
+    public static final String RESET = "reset";
+
+    private String type;
+    private String roomId;
+    private String cardId;
+    private String userId;
+    private String name;
+    private String date;
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,25 @@
+package com.counseling.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 동기화 변경 항목 (변경 순번 순서대로 적용)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SyncChange {
+    public static final String ROOM_SAVED = "room.saved";
+    public static final String CARD_SAVED = "card.saved";
+    // 나가거나 삭제된 상담방 → 클라이언트는 상담방과 그 카드를 모두 지운다
+    public static final String ROOM_DELETED = "room.deleted";
+
+    private String type;
+    private String roomId;
+    private RoomResponse room; // room.saved일 경우만
+    private DBTCardResponse card; // card.saved일 경우만
+}
@@ -0,0 +1,18 @@
+package com.counseling.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SyncResponse {
+    private List<SyncChange> changes;
+    private String cursor; // 다음 요청의 since (변경이 없으면 받은 값 그대로)
+    private boolean hasMore; // true면 바로 이어서 다시 요청
+}
@@ -11,7 +11,16 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "dbt_cards",
-       uniqueConstraints = @UniqueConstraint(columnNames = {"room_id", "client_id", "date"}))
+       uniqueConstraints = @UniqueConstraint(columnNames = {"room_id", "client_id", "date"}),
+       // (room_id, client_id, date) 조회는 유니크 키가 담당하므로 별도 인덱스를 두지 않음
+       indexes = {
+               @Index(name = "idx_dbt_cards_room_date", columnList = "room_id, date"),
+               @Index(name = "idx_dbt_cards_client_date", columnList = "client_id, date"),
+               // 검색 색인 동기화 (상담방별 수정 시각 범위 스캔)
+               @Index(name = "idx_dbt_cards_room_updated_at", columnList = "room_id, updated_at"),
+               // 동기화 조회 (내담자별 변경 순번 범위 스캔, 같은 순번은 PK 순서)
+               @Index(name = "idx_dbt_cards_client_change_seq", columnList = "client_id, change_seq")
+       })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -136,6 +145,16 @@ public class DBTCard {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // 내담자별 변경 순번 (ChangeSequence에서 발급, 내용이 바뀌거나 상담방에 다시 참가할 때 갱신)
+    @Column(name = "change_seq", nullable = false, columnDefinition = "bigint default 0")
+    @Builder.Default
+    private Long changeSeq = 0L;
+
+    // 내용이 바뀔 때마다 증가 (upsert에서도 같은 규칙으로 갱신)
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         submittedAt = LocalDateTime.now();
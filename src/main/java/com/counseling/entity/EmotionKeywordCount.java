@@ -0,0 +1,93 @@
+package com.counseling.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+// 내담자별 주 단위 감정 키워드 횟수 (카드 저장 시 증분 갱신, 상담방 전체는 조회 시 합산)
+@Entity
+@Table(name = "emotion_keyword_counts",
+       uniqueConstraints = @UniqueConstraint(name = "uk_emotion_keyword_counts_bucket",
+               columnNames = {"room_id", "client_id", "emotion", "week_start", "keyword"}),
+       indexes = {
+               // 상담방 전체 조회 (내담자 무관)
+               @Index(name = "idx_emotion_keyword_counts_room_emotion_week", columnList = "room_id, emotion, week_start"),
+               // 보관 기간이 지난 주 정리
+               @Index(name = "idx_emotion_keyword_counts_week", columnList = "week_start")
+       })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmotionKeywordCount {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "room_id", nullable = false, length = 255)
+    private String roomId;
+
+    @Column(name = "client_id", nullable = false, length = 255)
+    private String clientId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "emotion", nullable = false, length = 10)
+    private Emotion emotion;
+
+    @Column(name = "week_start", nullable = false)
+    private LocalDate weekStart;
+
+    @Column(name = "keyword", nullable = false, length = 50)
+    private String keyword;
+
+    @Column(name = "keyword_count", nullable = false)
+    private long count;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    public enum Emotion {
+        ANGER("anger", DBTCard::getAngerKeyword),
+        FEAR("fear", DBTCard::getFearKeyword),
+        JOY("joy", DBTCard::getJoyKeyword),
+        ANXIETY("anxiety", DBTCard::getAnxietyKeyword),
+        SADNESS("sadness", DBTCard::getSadnessKeyword);
+
+        private final String value;
+        private final Function<DBTCard, String> reader;
+
+        Emotion(String value, Function<DBTCard, String> reader) {
+            this.value = value;
+            this.reader = reader;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        public String read(DBTCard card) {
+            return reader.apply(card);
+        }
+
+        public static Emotion fromValue(String value) {
+            for (Emotion emotion : Emotion.values()) {
+                if (emotion.value.equalsIgnoreCase(value)) {
+                    return emotion;
+                }
+            }
+            throw new IllegalArgumentException("Unknown emotion: " + value);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.counseling.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.function.Function;
+
+// 내담자별 주/월 단위 감정·충동·행동 강도 집계 (카드 저장 시 증분 갱신)
+@Entity
+@Table(name = "emotion_rollups",
+       uniqueConstraints = @UniqueConstraint(name = "uk_emotion_rollups_bucket",
+               columnNames = {"room_id", "client_id", "period_type", "period_start", "metric"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmotionRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "room_id", nullable = false, length = 255)
+    private String roomId;
+
+    @Column(name = "client_id", nullable = false, length = 255)
+    private String clientId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "period_type", nullable = false, length = 10)
+    private PeriodType periodType;
+
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "metric", nullable = false, length = 20)
+    private Metric metric;
+
+    @Column(name = "value_count", nullable = false)
+    private int count;
+
+    @Column(name = "value_sum", nullable = false)
+    private long sum;
+
+    @Column(name = "min_value")
+    private Integer minValue;
+
+    @Column(name = "max_value")
+    private Integer maxValue;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    public enum PeriodType {
+        WEEK, MONTH;
+
+        // 주는 월요일, 월은 1일부터 시작
+        public LocalDate startOf(LocalDate date) {
+            return this == WEEK
+                    ? date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
+                    : date.withDayOfMonth(1);
+        }
+
+        public LocalDate endOf(LocalDate periodStart) {
+            return this == WEEK ? periodStart.plusDays(6) : periodStart.with(TemporalAdjusters.lastDayOfMonth());
+        }
+
+        public static PeriodType fromValue(String value) {
+            for (PeriodType type : PeriodType.values()) {
+                if (type.name().equalsIgnoreCase(value)) {
+                    return type;
+                }
+            }
+            throw new IllegalArgumentException("Unknown period: " + value);
+        }
+    }
+
+    public enum Metric {
+        anger("anger", DBTCard::getAnger),
+        fear("fear", DBTCard::getFear),
+        joy("joy", DBTCard::getJoy),
+        anxiety("anxiety", DBTCard::getAnxiety),
+        sadness("sadness", DBTCard::getSadness),
+        impulse1("impulse1_intensity", DBTCard::getImpulse1Intensity),
+        impulse2("impulse2_intensity", DBTCard::getImpulse2Intensity),
+        action1("action1_intensity", DBTCard::getAction1Intensity),
+        action2("action2_intensity", DBTCard::getAction2Intensity),
+        action3("action3_intensity", DBTCard::getAction3Intensity);
+
+        private final String column;
+        private final Function<DBTCard, String> getter;
+
+        Metric(String column, Function<DBTCard, String> getter) {
+            this.column = column;
+            this.getter = getter;
+        }
+
+        // dbt_cards의 컬럼명 (백필용)
+        public String getColumn() {
+            return column;
+        }
+
+        // 강도는 문자열로 저장되므로 숫자가 아닌 값(빈 값 등)은 집계에서 제외
+        public Integer read(DBTCard card) {
+            String value = getter.apply(card);
+            if (value == null) {
+                return null;
+            }
+            String trimmed = value.trim();
+            if (trimmed.isEmpty() || trimmed.length() > 9 || !trimmed.chars().allMatch(Character::isDigit)) {
+                return null;
+            }
+            return Integer.parseInt(trimmed);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.counseling.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 노드별로 번호 블록을 예약하기 위한 시퀀스 (예: 초대코드 카운터)
+@Entity
+@Table(name = "id_sequences")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdSequence {
+    @Id
+    @Column(name = "name", length = 50)
+    private String name;
+
+    @Column(name = "next_value", nullable = false)
+    private Long nextValue;
+}
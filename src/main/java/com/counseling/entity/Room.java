@@ -5,11 +5,15 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "rooms")
+@Table(name = "rooms",
+       indexes = @Index(name = "idx_rooms_deleted_at", columnList = "deleted_at"))
+// 삭제 표시된 상담방은 모든 조회에서 제외 (실제 삭제는 RoomPurgeService가 수행)
+@SQLRestriction("deleted_at IS NULL")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -32,6 +36,14 @@ public class Room {
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
+    // 상담방 상세/카드 목록의 ETag용 변경 버전 (RoomVersionRegistry가 네이티브 UPDATE로만 증가시킴)
+    @Column(name = "version", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "bigint default 0")
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -10,7 +10,9 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "room_members", 
-       uniqueConstraints = @UniqueConstraint(columnNames = {"room_id", "user_id"}))
+       uniqueConstraints = @UniqueConstraint(columnNames = {"room_id", "user_id"}),
+       // 동기화 조회 (사용자별 변경 순번 범위 스캔)
+       indexes = @Index(name = "idx_room_members_user_change_seq", columnList = "user_id, change_seq, room_id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -31,6 +33,11 @@ public class RoomMember {
     @Column(name = "joined_at", updatable = false)
     private LocalDateTime joinedAt;
 
+    // 사용자별 변경 순번 (참가 시 ChangeSequence에서 발급)
+    @Column(name = "change_seq", nullable = false, columnDefinition = "bigint default 0")
+    @Builder.Default
+    private Long changeSeq = 0L;
+
     @PrePersist
     protected void onCreate() {
         joinedAt = LocalDateTime.now();
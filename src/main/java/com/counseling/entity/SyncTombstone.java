@@ -0,0 +1,45 @@
+package com.counseling.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 동기화용 삭제 기록: 사용자가 더 이상 볼 수 없게 된 상담방 (나가기 또는 상담방 삭제)
+// 카드는 개별 삭제가 없고 상담방 단위로만 사라지므로, 클라이언트는 이 기록을 받으면 해당 상담방의 카드도 지운다
+// 상담방 행은 정리 작업에서 삭제되므로 room_id는 외래 키 없이 보관
+@Entity
+@Table(name = "sync_tombstones",
+       indexes = {
+           @Index(name = "idx_sync_tombstones_user_change_seq", columnList = "user_id, change_seq, room_id"),
+           @Index(name = "idx_sync_tombstones_deleted_at", columnList = "deleted_at")
+       })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SyncTombstone {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false, length = 255)
+    private String userId;
+
+    @Column(name = "room_id", nullable = false, length = 255)
+    private String roomId;
+
+    @Column(name = "change_seq", nullable = false)
+    private Long changeSeq;
+
+    @Column(name = "deleted_at", updatable = false)
+    private LocalDateTime deletedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        deletedAt = LocalDateTime.now();
+    }
+}
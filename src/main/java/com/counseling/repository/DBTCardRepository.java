@@ -1,32 +1,145 @@
 package com.counseling.repository;
 
+import com.counseling.dto.DBTCardSummary;
 import com.counseling.entity.DBTCard;
 import com.counseling.entity.Room;
 import com.counseling.entity.User;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface DBTCardRepository extends JpaRepository<DBTCard, String> {
+public interface DBTCardRepository extends JpaRepository<DBTCard, String>, DBTCardRepositoryCustom {
     Optional<DBTCard> findByRoomAndClientAndDate(Room room, User client, LocalDate date);
+
+    // 카드 저장용: 삭제되지 않은 상담방의 멤버십 행을 잠그면서 그 날짜의 기존 카드도 잠그고 읽음 (한 문장)
+    // 상담방 행은 잠그지 않는다(FOR UPDATE OF). 결과가 비었으면 멤버가 아니거나 없는 상담방, 원소가 null이면 기존 카드 없음
+    @Query(value = "SELECT d.* FROM room_members rm JOIN rooms r ON r.room_id = rm.room_id " +
+                   "LEFT JOIN dbt_cards d ON d.room_id = rm.room_id AND d.client_id = rm.user_id AND d.date = :date " +
+                   "WHERE rm.room_id = :roomId AND rm.user_id = :userId AND r.deleted_at IS NULL FOR UPDATE OF rm, d",
+           nativeQuery = true)
+    List<DBTCard> lockMembershipWithCard(@Param("roomId") String roomId,
+                                         @Param("userId") String userId,
+                                         @Param("date") LocalDate date);
     List<DBTCard> findByRoomAndClient(Room room, User client);
+    List<DBTCard> findByRoomAndClientAndDateIn(Room room, User client, Collection<LocalDate> dates);
     List<DBTCard> findByRoom(Room room);
     
     @Query("SELECT d FROM DBTCard d WHERE d.room = :room AND d.date = :date")
     List<DBTCard> findByRoomAndDate(@Param("room") Room room, @Param("date") LocalDate date);
     
-    long countByClient(User client);
+    // (date, cardId) 키셋 페이지네이션, clientId/from/to가 null이면 조건에서 제외
+    // clientId 유무에 따라 (room_id, client_id, date) / (room_id, date) 인덱스의 범위 스캔으로 처리된다
+    @Query("SELECT d FROM DBTCard d JOIN FETCH d.client c WHERE d.room = :room " +
+           "AND (:clientId IS NULL OR c.userId = :clientId) " +
+           "AND (:from IS NULL OR d.date >= :from) " +
+           "AND (:to IS NULL OR d.date <= :to) " +
+           "AND (:afterDate IS NULL OR d.date > :afterDate OR (d.date = :afterDate AND d.cardId > :afterCardId)) " +
+           "ORDER BY d.date, d.cardId")
+    List<DBTCard> findPage(@Param("room") Room room,
+                           @Param("clientId") String clientId,
+                           @Param("from") LocalDate from,
+                           @Param("to") LocalDate to,
+                           @Param("afterDate") LocalDate afterDate,
+                           @Param("afterCardId") String afterCardId,
+                           Pageable pageable);
+    
+    // findPage와 같은 조건/정렬로 목록 표시에 필요한 컬럼만 조회 (TEXT 컬럼을 읽지 않음)
+    @Query("SELECT new com.counseling.dto.DBTCardSummary(" +
+           "d.cardId, c.userId, c.name, d.date, " +
+           "d.impulse1Intensity, d.action1Intensity, d.thoughtIntensity, " +
+           "d.action2Intensity, d.impulse2Intensity, d.action3Intensity, " +
+           "d.anger, d.fear, d.joy, d.anxiety, d.sadness, d.medication, d.submittedAt) " +
+           "FROM DBTCard d JOIN d.client c WHERE d.room = :room " +
+           "AND (:clientId IS NULL OR c.userId = :clientId) " +
+           "AND (:from IS NULL OR d.date >= :from) " +
+           "AND (:to IS NULL OR d.date <= :to) " +
+           "AND (:afterDate IS NULL OR d.date > :afterDate OR (d.date = :afterDate AND d.cardId > :afterCardId)) " +
+           "ORDER BY d.date, d.cardId")
+    List<DBTCardSummary> findSummaryPage(@Param("room") Room room,
+                                         @Param("clientId") String clientId,
+                                         @Param("from") LocalDate from,
+                                         @Param("to") LocalDate to,
+                                         @Param("afterDate") LocalDate afterDate,
+                                         @Param("afterCardId") String afterCardId,
+                                         Pageable pageable);
+
+    // 검색 색인 동기화용: 상담방에서 since 이후 수정된 카드 ((room_id, updated_at) 인덱스 범위 스캔)
+    @Query("SELECT d FROM DBTCard d JOIN FETCH d.client WHERE d.room.roomId = :roomId AND d.updatedAt >= :since")
+    List<DBTCard> findUpdatedInRoomSince(@Param("roomId") String roomId, @Param("since") LocalDateTime since);
+
+    @Query("SELECT d FROM DBTCard d JOIN FETCH d.client WHERE d.cardId = :cardId AND d.room.roomId = :roomId")
+    Optional<DBTCard> findInRoom(@Param("cardId") String cardId, @Param("roomId") String roomId);
+    
+    // 내보내기용 전진 전용 스트림 (MySQL은 fetch size가 Integer.MIN_VALUE일 때 행 단위로 전송)
+    // 정렬을 유니크 키 (room_id, client_id, date) 순서와 맞춰 filesort 없이 첫 행부터 바로 읽는다
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT d FROM DBTCard d JOIN FETCH d.client c WHERE d.room.roomId = :roomId " +
+           "AND (:clientId IS NULL OR c.userId = :clientId) " +
+           "AND (:from IS NULL OR d.date >= :from) " +
+           "AND (:to IS NULL OR d.date <= :to) " +
+           "ORDER BY c.userId, d.date")
+    Stream<DBTCard> streamByRoom(@Param("roomId") String roomId,
+                                 @Param("clientId") String clientId,
+                                 @Param("from") LocalDate from,
+                                 @Param("to") LocalDate to);
+    
+    // 감정 집계 재계산용 (한 주/한 달), 공유 잠금으로 동시에 커밋된 카드까지 읽음
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT d FROM DBTCard d WHERE d.room.roomId = :roomId AND d.client.userId = :clientId " +
+           "AND d.date BETWEEN :from AND :to")
+    List<DBTCard> findForRollup(@Param("roomId") String roomId,
+                                @Param("clientId") String clientId,
+                                @Param("from") LocalDate from,
+                                @Param("to") LocalDate to);
+    
+    // 동기화: 변경 순번 이후의 내 카드 ((change_seq, card_id) 키셋, afterCardId가 null이면 같은 순번은 제외)
+    // (client_id, change_seq) 인덱스 범위 스캔이므로 전체 카드 수가 아니라 변경 건수에 비례한다
+    // 나간 상담방/삭제된 상담방의 카드는 삭제 기록으로 전달되므로 제외
+    @Query("SELECT d FROM DBTCard d WHERE d.client.userId = :clientId " +
+           "AND (d.changeSeq > :afterSeq OR (d.changeSeq = :afterSeq AND d.cardId > :afterCardId)) " +
+           "AND EXISTS (SELECT rm FROM RoomMember rm WHERE rm.room = d.room AND rm.user = d.client " +
+           "AND rm.room.deletedAt IS NULL) " +
+           "ORDER BY d.changeSeq, d.cardId")
+    List<DBTCard> findChangedSince(@Param("clientId") String clientId,
+                                   @Param("afterSeq") long afterSeq,
+                                   @Param("afterCardId") String afterCardId,
+                                   Pageable pageable);
+
+    // 상담방에 다시 참가한 내담자의 기존 카드를 다시 동기화 대상으로 표시 (내용/버전은 그대로)
+    @Modifying
+    @Query("UPDATE DBTCard d SET d.changeSeq = :changeSeq WHERE d.room.roomId = :roomId AND d.client.userId = :clientId")
+    int markChanged(@Param("roomId") String roomId, @Param("clientId") String clientId, @Param("changeSeq") long changeSeq);
+    
+    @Query("SELECT COUNT(d) FROM DBTCard d WHERE d.client = :client AND d.room.deletedAt IS NULL")
+    long countByClient(@Param("client") User client);
     long countByRoom(Room room);
     
     @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Query("DELETE FROM DBTCard d WHERE d.room = :room")
     void deleteByRoom(@Param("room") Room room);
+
+    @Modifying
+    @Query(value = "DELETE FROM dbt_cards WHERE room_id = :roomId ORDER BY card_id LIMIT :limit", nativeQuery = true)
+    int deleteBatchByRoomId(@Param("roomId") String roomId, @Param("limit") int limit);
 }
 
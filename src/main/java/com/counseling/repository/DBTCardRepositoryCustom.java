@@ -0,0 +1,20 @@
+package com.counseling.repository;
+
+import com.counseling.entity.DBTCard;
+
+import java.util.List;
+
+public interface DBTCardRepositoryCustom {
+    // (room_id, client_id, date) 기준 INSERT ... ON DUPLICATE KEY UPDATE 한 문장으로 저장 (여러 건이면 JDBC 배치)
+    // 내용이 같으면 version/updated_at을 바꾸지 않으므로 같은 요청을 다시 보내도 결과가 같다
+    void upsert(List<DBTCard> cards);
+
+    // 비교용 본문 컬럼 값 (upsert가 쓰는 컬럼과 동일한 순서)
+    Object[] contentOf(DBTCard card);
+
+    // contentOf(before)와 값이 다른 본문 컬럼 이름
+    List<String> changedColumns(Object[] before, DBTCard after);
+
+    // 기존 카드의 지정한 본문 컬럼만 UPDATE (updated_at/change_seq 갱신, version 1 증가)
+    void updateColumns(DBTCard card, List<String> columns);
+}
@@ -0,0 +1,167 @@
+package com.counseling.repository;
+
+import com.counseling.entity.DBTCard;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public class DBTCardRepositoryImpl implements DBTCardRepositoryCustom {
+
+    // upsert 시 덮어쓰는 컬럼 (키, submitted_at, updated_at, change_seq, version 제외)
+    private static final Map<String, Function<DBTCard, Object>> CONTENT_COLUMNS = new LinkedHashMap<>();
+
+    static {
+        CONTENT_COLUMNS.put("header_name", DBTCard::getHeaderName);
+        CONTENT_COLUMNS.put("header_written_during_counseling", card -> enumName(card.getHeaderWrittenDuringCounseling()));
+        CONTENT_COLUMNS.put("header_frequency", DBTCard::getHeaderFrequency);
+        CONTENT_COLUMNS.put("impulse1_text", DBTCard::getImpulse1Text);
+        CONTENT_COLUMNS.put("impulse1_intensity", DBTCard::getImpulse1Intensity);
+        CONTENT_COLUMNS.put("action1_text", DBTCard::getAction1Text);
+        CONTENT_COLUMNS.put("action1_intensity", DBTCard::getAction1Intensity);
+        CONTENT_COLUMNS.put("thought_text", DBTCard::getThoughtText);
+        CONTENT_COLUMNS.put("thought_intensity", DBTCard::getThoughtIntensity);
+        CONTENT_COLUMNS.put("action2_text", DBTCard::getAction2Text);
+        CONTENT_COLUMNS.put("action2_intensity", DBTCard::getAction2Intensity);
+        CONTENT_COLUMNS.put("impulse2_text", DBTCard::getImpulse2Text);
+        CONTENT_COLUMNS.put("impulse2_intensity", DBTCard::getImpulse2Intensity);
+        CONTENT_COLUMNS.put("action3_text", DBTCard::getAction3Text);
+        CONTENT_COLUMNS.put("action3_intensity", DBTCard::getAction3Intensity);
+        CONTENT_COLUMNS.put("medication", card -> enumName(card.getMedication()));
+        CONTENT_COLUMNS.put("target_behavior1", DBTCard::getTargetBehavior1);
+        CONTENT_COLUMNS.put("target_behavior2", DBTCard::getTargetBehavior2);
+        CONTENT_COLUMNS.put("skill_use", DBTCard::getSkillUse);
+        CONTENT_COLUMNS.put("sleep_time", DBTCard::getSleepTime);
+        CONTENT_COLUMNS.put("wake_time", DBTCard::getWakeTime);
+        CONTENT_COLUMNS.put("anger", DBTCard::getAnger);
+        CONTENT_COLUMNS.put("anger_keyword", DBTCard::getAngerKeyword);
+        CONTENT_COLUMNS.put("fear", DBTCard::getFear);
+        CONTENT_COLUMNS.put("fear_keyword", DBTCard::getFearKeyword);
+        CONTENT_COLUMNS.put("joy", DBTCard::getJoy);
+        CONTENT_COLUMNS.put("joy_keyword", DBTCard::getJoyKeyword);
+        CONTENT_COLUMNS.put("anxiety", DBTCard::getAnxiety);
+        CONTENT_COLUMNS.put("anxiety_keyword", DBTCard::getAnxietyKeyword);
+        CONTENT_COLUMNS.put("sadness", DBTCard::getSadness);
+        CONTENT_COLUMNS.put("sadness_keyword", DBTCard::getSadnessKeyword);
+    }
+
+    // MySQL은 ON DUPLICATE KEY UPDATE의 대입을 왼쪽부터 적용하므로,
+    // 본문 컬럼을 덮어쓰기 전에 변경 여부를 판단해 updated_at/change_seq/version을 먼저 갱신한다
+    private static final String UPSERT_SQL;
+
+    static {
+        String contentColumns = String.join(", ", CONTENT_COLUMNS.keySet());
+        String placeholders = CONTENT_COLUMNS.keySet().stream().map(column -> "?").collect(Collectors.joining(", "));
+        String changed = "NOT (" + CONTENT_COLUMNS.keySet().stream()
+                .map(column -> column + " <=> VALUES(" + column + ")")
+                .collect(Collectors.joining(" AND ")) + ")";
+        String assignments = CONTENT_COLUMNS.keySet().stream()
+                .map(column -> column + " = VALUES(" + column + ")")
+                .collect(Collectors.joining(", "));
+
+        UPSERT_SQL = "INSERT INTO dbt_cards (card_id, room_id, client_id, date, " + contentColumns +
+                ", submitted_at, updated_at, change_seq, version) VALUES (?, ?, ?, ?, " + placeholders + ", ?, ?, ?, 0) " +
+                "ON DUPLICATE KEY UPDATE " +
+                "updated_at = IF(" + changed + ", VALUES(updated_at), updated_at), " +
+                "change_seq = IF(" + changed + ", VALUES(change_seq), change_seq), " +
+                "version = IF(" + changed + ", version + 1, version), " +
+                assignments;
+    }
+
+    private final EntityManager entityManager;
+
+    public DBTCardRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public void upsert(List<DBTCard> cards) {
+        if (cards.isEmpty()) {
+            return;
+        }
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(UPSERT_SQL)) {
+                for (DBTCard card : cards) {
+                    int index = 1;
+                    statement.setString(index++, card.getCardId());
+                    statement.setString(index++, card.getRoom().getRoomId());
+                    statement.setString(index++, card.getClient().getUserId());
+                    statement.setObject(index++, card.getDate());
+                    for (Function<DBTCard, Object> getter : CONTENT_COLUMNS.values()) {
+                        statement.setObject(index++, getter.apply(card));
+                    }
+                    statement.setObject(index++, card.getSubmittedAt());
+                    statement.setObject(index++, card.getUpdatedAt());
+                    statement.setLong(index, card.getChangeSeq());
+                    if (cards.size() == 1) {
+                        statement.executeUpdate();
+                        return;
+                    }
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        });
+    }
+
+    @Override
+    public Object[] contentOf(DBTCard card) {
+        if (card == null) {
+            return null;
+        }
+        return CONTENT_COLUMNS.values().stream().map(getter -> getter.apply(card)).toArray();
+    }
+
+    @Override
+    public List<String> changedColumns(Object[] before, DBTCard after) {
+        List<String> columns = new ArrayList<>();
+        int index = 0;
+        for (Map.Entry<String, Function<DBTCard, Object>> column : CONTENT_COLUMNS.entrySet()) {
+            if (before == null || !Objects.equals(before[index], column.getValue().apply(after))) {
+                columns.add(column.getKey());
+            }
+            index++;
+        }
+        return columns;
+    }
+
+    @Override
+    public void updateColumns(DBTCard card, List<String> columns) {
+        if (columns.isEmpty()) {
+            return;
+        }
+        // 컬럼명은 CONTENT_COLUMNS 키에서만 허용하므로 그대로 조립해도 안전
+        StringBuilder sql = new StringBuilder("UPDATE dbt_cards SET ");
+        for (String column : columns) {
+            if (!CONTENT_COLUMNS.containsKey(column)) {
+                throw new IllegalArgumentException("Unknown column: " + column);
+            }
+            sql.append(column).append(" = ?, ");
+        }
+        sql.append("updated_at = ?, change_seq = ?, version = version + 1 WHERE card_id = ?");
+
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+                int index = 1;
+                for (String column : columns) {
+                    statement.setObject(index++, CONTENT_COLUMNS.get(column).apply(card));
+                }
+                statement.setObject(index++, card.getUpdatedAt());
+                statement.setLong(index++, card.getChangeSeq());
+                statement.setString(index, card.getCardId());
+                statement.executeUpdate();
+            }
+        });
+    }
+
+    private static String enumName(Enum<?> value) {
+        return value != null ? value.name() : null;
+    }
+}
@@ -0,0 +1,55 @@
+package com.counseling.repository;
+
+import com.counseling.entity.EmotionKeywordCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface EmotionKeywordCountRepository extends JpaRepository<EmotionKeywordCount, Long> {
+    // 키워드 횟수 증감 (행이 없으면 생성), 유니크 키 행만 잠그므로 같은 내담자의 저장끼리만 대기
+    @Modifying
+    @Query(value = "INSERT INTO emotion_keyword_counts " +
+                   "(room_id, client_id, emotion, week_start, keyword, keyword_count, updated_at) " +
+                   "VALUES (:roomId, :clientId, :emotion, :weekStart, :keyword, :delta, NOW()) " +
+                   "ON DUPLICATE KEY UPDATE keyword_count = keyword_count + VALUES(keyword_count), updated_at = NOW()",
+           nativeQuery = true)
+    int addCount(@Param("roomId") String roomId,
+                 @Param("clientId") String clientId,
+                 @Param("emotion") String emotion,
+                 @Param("weekStart") LocalDate weekStart,
+                 @Param("keyword") String keyword,
+                 @Param("delta") long delta);
+
+    // 기간 내 키워드별 합계 상위 limit개 ({keyword, count}), clientId가 null이면 상담방 전체
+    @Query(value = "SELECT keyword, SUM(keyword_count) AS total FROM emotion_keyword_counts " +
+                   "WHERE room_id = :roomId AND (:clientId IS NULL OR client_id = :clientId) " +
+                   "AND emotion = :emotion AND week_start BETWEEN :fromWeek AND :toWeek " +
+                   "GROUP BY keyword HAVING SUM(keyword_count) > 0 " +
+                   "ORDER BY total DESC, keyword LIMIT :limit",
+           nativeQuery = true)
+    List<Object[]> findTop(@Param("roomId") String roomId,
+                           @Param("clientId") String clientId,
+                           @Param("emotion") String emotion,
+                           @Param("fromWeek") LocalDate fromWeek,
+                           @Param("toWeek") LocalDate toWeek,
+                           @Param("limit") int limit);
+
+    // 재생성용 (상담방 하나의 보관 기간 행 수만큼)
+    @Modifying
+    @Query("DELETE FROM EmotionKeywordCount k WHERE k.roomId = :roomId")
+    int deleteByRoomId(@Param("roomId") String roomId);
+
+    @Modifying
+    @Query(value = "DELETE FROM emotion_keyword_counts WHERE room_id = :roomId ORDER BY id LIMIT :limit", nativeQuery = true)
+    int deleteBatchByRoomId(@Param("roomId") String roomId, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "DELETE FROM emotion_keyword_counts WHERE week_start < :before ORDER BY id LIMIT :limit", nativeQuery = true)
+    int deleteBatchBefore(@Param("before") LocalDate before, @Param("limit") int limit);
+}
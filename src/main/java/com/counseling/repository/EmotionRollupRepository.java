@@ -0,0 +1,38 @@
+package com.counseling.repository;
+
+import com.counseling.entity.EmotionRollup;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface EmotionRollupRepository extends JpaRepository<EmotionRollup, Long> {
+    // 한 기간의 집계 행을 잠금 (같은 기간의 카드가 동시에 저장되어도 증분이 유실되지 않도록)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM EmotionRollup r WHERE r.roomId = :roomId AND r.clientId = :clientId " +
+           "AND r.periodType = :periodType AND r.periodStart = :periodStart")
+    List<EmotionRollup> findBucketForUpdate(@Param("roomId") String roomId,
+                                            @Param("clientId") String clientId,
+                                            @Param("periodType") EmotionRollup.PeriodType periodType,
+                                            @Param("periodStart") LocalDate periodStart);
+
+    @Query("SELECT r FROM EmotionRollup r WHERE r.roomId = :roomId AND r.clientId = :clientId " +
+           "AND r.periodType = :periodType AND r.periodStart BETWEEN :from AND :to AND r.count > 0 " +
+           "ORDER BY r.periodStart, r.metric")
+    List<EmotionRollup> findTrend(@Param("roomId") String roomId,
+                                  @Param("clientId") String clientId,
+                                  @Param("periodType") EmotionRollup.PeriodType periodType,
+                                  @Param("from") LocalDate from,
+                                  @Param("to") LocalDate to);
+
+    @Modifying
+    @Query(value = "DELETE FROM emotion_rollups WHERE room_id = :roomId ORDER BY id LIMIT :limit", nativeQuery = true)
+    int deleteBatchByRoomId(@Param("roomId") String roomId, @Param("limit") int limit);
+}
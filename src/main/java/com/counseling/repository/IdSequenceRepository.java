@@ -0,0 +1,29 @@
+package com.counseling.repository;
+
+import com.counseling.entity.IdSequence;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface IdSequenceRepository extends JpaRepository<IdSequence, String> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM IdSequence s WHERE s.name = :name")
+    Optional<IdSequence> findForUpdate(@Param("name") String name);
+
+    // 시퀀스 값 하나를 예약 (행이 없으면 1부터 시작), 예약한 값은 같은 연결에서 lastReserved()로 읽는다
+    // 갱신한 행의 잠금은 트랜잭션이 끝날 때까지 유지된다
+    @Modifying
+    @Query(value = "INSERT INTO id_sequences (name, next_value) VALUES (:name, LAST_INSERT_ID(1) + 1) " +
+                   "ON DUPLICATE KEY UPDATE next_value = LAST_INSERT_ID(next_value) + 1", nativeQuery = true)
+    int reserveNext(@Param("name") String name);
+
+    @Query(value = "SELECT LAST_INSERT_ID()", nativeQuery = true)
+    long lastReserved();
+}
@@ -3,6 +3,7 @@ package com.counseling.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -17,11 +18,41 @@ import com.counseling.entity.User;
 public interface RoomMemberRepository extends JpaRepository<RoomMember, Long> {
     Optional<RoomMember> findByRoomAndUser(Room room, User user);
     boolean existsByRoomAndUser(Room room, User user);
-    List<RoomMember> findByRoom(Room room);
-    List<RoomMember> findByUser(User user);
+
+    // 삭제 표시된 상담방의 멤버는 정리 전까지 남아 있으므로 조회에서 제외
+    @Query("SELECT rm FROM RoomMember rm WHERE rm.room = :room AND rm.room.deletedAt IS NULL")
+    List<RoomMember> findByRoom(@Param("room") Room room);
+
+    @Query("SELECT rm FROM RoomMember rm JOIN FETCH rm.room r WHERE rm.user = :user AND r.deletedAt IS NULL")
+    List<RoomMember> findByUser(@Param("user") User user);
+    
+    @Query("SELECT CASE WHEN COUNT(rm) > 0 THEN true ELSE false END FROM RoomMember rm " +
+           "WHERE rm.room.roomId = :roomId AND rm.user.userId = :userId AND rm.room.deletedAt IS NULL")
+    boolean existsMembership(@Param("roomId") String roomId, @Param("userId") String userId);
+
+    @Query("SELECT rm.room.roomId AS roomId, rm.user.userId AS userId FROM RoomMember rm WHERE rm.room.deletedAt IS NULL")
+    List<Membership> findAllMemberships();
+
+    // 동기화: 변경 순번 이후에 참가한 상담방 ((change_seq, room_id) 키셋, afterRoomId가 null이면 같은 순번은 제외)
+    @Query("SELECT rm FROM RoomMember rm JOIN FETCH rm.room r WHERE rm.user.userId = :userId AND r.deletedAt IS NULL " +
+           "AND (rm.changeSeq > :afterSeq OR (rm.changeSeq = :afterSeq AND r.roomId > :afterRoomId)) " +
+           "ORDER BY rm.changeSeq, r.roomId")
+    List<RoomMember> findChangedSince(@Param("userId") String userId,
+                                      @Param("afterSeq") long afterSeq,
+                                      @Param("afterRoomId") String afterRoomId,
+                                      Pageable pageable);
+
+    @Modifying
+    @Query(value = "DELETE FROM room_members WHERE room_id = :roomId ORDER BY id LIMIT :limit", nativeQuery = true)
+    int deleteBatchByRoomId(@Param("roomId") String roomId, @Param("limit") int limit);
     
     @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Query("DELETE FROM RoomMember rm WHERE rm.room = :room")
     void deleteByRoom(@Param("room") Room room);
+
+    interface Membership {
+        String getRoomId();
+        String getUserId();
+    }
 }
 
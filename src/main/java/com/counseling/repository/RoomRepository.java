@@ -2,13 +2,18 @@ package com.counseling.repository;
 
 import com.counseling.entity.Room;
 import com.counseling.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface RoomRepository extends JpaRepository<Room, String> {
@@ -17,5 +22,86 @@ public interface RoomRepository extends JpaRepository<Room, String> {
     
     @Query("SELECT r FROM Room r JOIN RoomMember rm ON r.roomId = rm.room.roomId WHERE rm.user.userId = :userId")
     List<Room> findRoomsByUserId(@Param("userId") String userId);
+
+    // 상담방 목록용 집계: 내담자 수와 조회자의 참가 시각을 한 번의 쿼리로 계산
+    // (createdAt, roomId) 키셋 페이지네이션, 페이지 크기는 pageable로 제한
+    @Query("SELECT r.roomId AS roomId, r.name AS name, r.inviteCode AS inviteCode, r.createdAt AS createdAt, " +
+           "r.createdBy.userId AS createdBy, " +
+           "SUM(CASE WHEN mu.userType = :clientType THEN 1 ELSE 0 END) AS clientCount, " +
+           "MAX(CASE WHEN mu.userId = :userId THEN m.joinedAt END) AS joinedAt " +
+           "FROM Room r LEFT JOIN RoomMember m ON m.room = r LEFT JOIN m.user mu " +
+           "WHERE r.createdBy.userId = :userId " +
+           "AND (:afterCreatedAt IS NULL OR r.createdAt > :afterCreatedAt " +
+           "     OR (r.createdAt = :afterCreatedAt AND r.roomId > :afterRoomId)) " +
+           "GROUP BY r.roomId, r.name, r.inviteCode, r.createdAt, r.createdBy.userId " +
+           "ORDER BY r.createdAt, r.roomId")
+    List<RoomSummary> findRoomSummariesByCreator(@Param("userId") String userId,
+                                                 @Param("clientType") User.UserType clientType,
+                                                 @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                                 @Param("afterRoomId") String afterRoomId,
+                                                 Pageable pageable);
+
+    @Query("SELECT r.roomId AS roomId, r.name AS name, r.inviteCode AS inviteCode, r.createdAt AS createdAt, " +
+           "r.createdBy.userId AS createdBy, " +
+           "SUM(CASE WHEN mu.userType = :clientType THEN 1 ELSE 0 END) AS clientCount, " +
+           "MAX(CASE WHEN mu.userId = :userId THEN m.joinedAt END) AS joinedAt " +
+           "FROM Room r LEFT JOIN RoomMember m ON m.room = r LEFT JOIN m.user mu " +
+           "WHERE EXISTS (SELECT 1 FROM RoomMember me WHERE me.room = r AND me.user.userId = :userId) " +
+           "AND (:afterCreatedAt IS NULL OR r.createdAt > :afterCreatedAt " +
+           "     OR (r.createdAt = :afterCreatedAt AND r.roomId > :afterRoomId)) " +
+           "GROUP BY r.roomId, r.name, r.inviteCode, r.createdAt, r.createdBy.userId " +
+           "ORDER BY r.createdAt, r.roomId")
+    List<RoomSummary> findRoomSummariesByMember(@Param("userId") String userId,
+                                                @Param("clientType") User.UserType clientType,
+                                                @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                                @Param("afterRoomId") String afterRoomId,
+                                                Pageable pageable);
+
+    // 초대코드 발급기가 이전 방식 코드와의 충돌을 피하기 위해 사용 (unique 제약과 같이 삭제 표시된 상담방도 포함)
+    @Query(value = "SELECT invite_code FROM rooms WHERE invite_code IN (:codes)", nativeQuery = true)
+    Set<String> findExistingInviteCodes(@Param("codes") Collection<String> codes);
+
+    // 카드 저장/상담방 나가기용: 삭제되지 않은 상담방의 멤버인지 확인하면서 멤버십 행만 잠금
+    // 상담방 행은 잠그지 않으므로(FOR UPDATE OF) 같은 내담자의 쓰기끼리만 대기한다
+    @Query(value = "SELECT rm.room_id FROM room_members rm JOIN rooms r ON r.room_id = rm.room_id " +
+                   "WHERE rm.room_id = :roomId AND rm.user_id = :userId AND r.deleted_at IS NULL FOR UPDATE OF rm",
+           nativeQuery = true)
+    Optional<String> lockForMemberWrite(@Param("roomId") String roomId, @Param("userId") String userId);
+
+    // ETag용 버전 증가 (변경 트랜잭션 안에서 실행하여 커밋과 함께 모든 인스턴스에 반영)
+    // 삭제 표시된 상담방은 갱신하지 않으므로 0이면 없는 상담방
+    @Modifying
+    @Query(value = "UPDATE rooms SET version = version + 1 WHERE room_id = :roomId AND deleted_at IS NULL",
+           nativeQuery = true)
+    int incrementVersion(@Param("roomId") String roomId);
+
+    @Query(value = "SELECT version FROM rooms WHERE room_id = :roomId", nativeQuery = true)
+    Optional<Long> findVersion(@Param("roomId") String roomId);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Room r SET r.deletedAt = :deletedAt WHERE r.roomId = :roomId")
+    int markDeleted(@Param("roomId") String roomId, @Param("deletedAt") LocalDateTime deletedAt);
+
+    // 삭제 표시된 상담방은 엔티티 조회에서 제외되므로 native 쿼리 사용
+    @Query(value = "SELECT room_id FROM rooms WHERE deleted_at IS NOT NULL ORDER BY deleted_at LIMIT :limit",
+           nativeQuery = true)
+    List<String> findDeletedRoomIds(@Param("limit") int limit);
+
+    @Query(value = "SELECT COUNT(*) FROM rooms WHERE deleted_at IS NOT NULL", nativeQuery = true)
+    long countDeletedRooms();
+
+    @Modifying
+    @Query(value = "DELETE FROM rooms WHERE room_id = :roomId AND deleted_at IS NOT NULL", nativeQuery = true)
+    int purgeDeletedRoom(@Param("roomId") String roomId);
+
+    interface RoomSummary {
+        String getRoomId();
+        String getName();
+        String getInviteCode();
+        LocalDateTime getCreatedAt();
+        String getCreatedBy();
+        Long getClientCount();
+        LocalDateTime getJoinedAt();
+    }
 }
 
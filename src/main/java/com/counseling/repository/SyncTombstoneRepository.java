@@ -0,0 +1,26 @@
+package com.counseling.repository;
+
+import com.counseling.entity.SyncTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SyncTombstoneRepository extends JpaRepository<SyncTombstone, Long> {
+    // (change_seq, room_id) 키셋, afterRoomId가 null이면 같은 순번은 제외
+    @Query("SELECT t FROM SyncTombstone t WHERE t.userId = :userId " +
+           "AND (t.changeSeq > :afterSeq OR (t.changeSeq = :afterSeq AND t.roomId > :afterRoomId)) " +
+           "ORDER BY t.changeSeq, t.roomId")
+    List<SyncTombstone> findChangedSince(@Param("userId") String userId,
+                                         @Param("afterSeq") long afterSeq,
+                                         @Param("afterRoomId") String afterRoomId,
+                                         Pageable pageable);
+
+    // 멤버십 인덱스 동기화용 (다른 인스턴스의 나가기/상담방 삭제)
+    List<SyncTombstone> findByDeletedAtAfter(LocalDateTime deletedAt);
+}
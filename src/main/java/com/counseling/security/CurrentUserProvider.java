@@ -0,0 +1,93 @@
+package com.counseling.security;
+
+import com.counseling.entity.User;
+import com.counseling.exception.BusinessException;
+import com.counseling.exception.ErrorCode;
+import com.counseling.repository.UserRepository;
+import com.counseling.util.TransactionUtil;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// 현재 로그인한 사용자 조회
+// 요청 안에서는 한 번만 조회하고, 요청 간에는 크기 제한이 있는 스냅샷 캐시를 사용한다
+// 무효화는 변경한 인스턴스에서만 일어나므로, 다른 인스턴스의 스냅샷은 TTL이 지나면 다시 조회한다
+// 반환되는 User는 영속성 컨텍스트와 분리된 복사본이며 비밀번호는 포함하지 않는다
+@Component
+public class CurrentUserProvider {
+
+    private static final String REQUEST_ATTRIBUTE = CurrentUserProvider.class.getName() + ".CURRENT_USER";
+    private static final int MAX_CACHED_USERS = 10_000;
+    private static final long SNAPSHOT_TTL_MILLIS = 60_000;
+
+    private final UserRepository userRepository;
+    private final Map<String, Snapshot> snapshots = Collections.synchronizedMap(
+            new LinkedHashMap<>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Snapshot> eldest) {
+                    return size() > MAX_CACHED_USERS;
+                }
+            });
+
+    public CurrentUserProvider(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    public User getCurrentUser() {
+        String userId = SecurityUtil.getCurrentUserId();
+        if (userId == null) {
+            throw new BusinessException(ErrorCode.UNAUTHORIZED);
+        }
+
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null
+                && attributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof User user
+                && userId.equals(user.getUserId())) {
+            return user;
+        }
+
+        Snapshot snapshot = snapshots.get(userId);
+        if (snapshot == null || snapshot.expiresAt <= System.currentTimeMillis()) {
+            snapshot = userRepository.findById(userId)
+                    .map(found -> new Snapshot(snapshotOf(found), System.currentTimeMillis() + SNAPSHOT_TTL_MILLIS))
+                    .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
+            snapshots.put(userId, snapshot);
+        }
+
+        // 호출 측에서 수정해도 캐시에 영향이 없도록 복사본 반환
+        User user = snapshotOf(snapshot.user);
+        if (attributes != null) {
+            attributes.setAttribute(REQUEST_ATTRIBUTE, user, RequestAttributes.SCOPE_REQUEST);
+        }
+        return user;
+    }
+
+    // 사용자 정보가 변경되면 호출 (커밋 전 재적재된 값도 커밋 후 다시 제거)
+    public void invalidate(String userId) {
+        snapshots.remove(userId);
+        TransactionUtil.afterCommit(() -> snapshots.remove(userId));
+
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.removeAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    private static User snapshotOf(User user) {
+        return User.builder()
+                .userId(user.getUserId())
+                .email(user.getEmail())
+                .name(user.getName())
+                .userType(user.getUserType())
+                .createdAt(user.getCreatedAt())
+                .updatedAt(user.getUpdatedAt())
+                .build();
+    }
+
+    private record Snapshot(User user, long expiresAt) {
+    }
+}
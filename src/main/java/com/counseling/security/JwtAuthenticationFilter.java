@@ -1,6 +1,8 @@
 package com.counseling.security;
 
+import com.counseling.service.TokenRevocationService;
 import com.counseling.util.JwtUtil;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -19,9 +21,11 @@ import java.util.Collections;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
+    private final TokenRevocationService tokenRevocationService;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, TokenRevocationService tokenRevocationService) {
         this.jwtUtil = jwtUtil;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     @Override
@@ -51,19 +55,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         try {
             final String jwt = authHeader.substring(7);
-            final String userId = jwtUtil.extractUserId(jwt);
-            final String userType = jwtUtil.getUserType(jwt);
+            // 서명/만료 검증은 파싱 시 함께 수행되므로 요청당 한 번만 파싱
+            final Claims claims = jwtUtil.parseVerifiedClaims(jwt);
+            final String userId = claims.getSubject();
+            final String userType = jwtUtil.getUserType(claims);
 
-            if (userId != null) {
-                if (jwtUtil.validateToken(jwt, userId)) {
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userId,
-                            null,
-                            Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + userType))
-                    );
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                }
+            // 로그아웃으로 폐기된 토큰은 인증하지 않음
+            if (userId != null && !tokenRevocationService.isRevoked(claims.getId())) {
+                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                        userId,
+                        claims,
+                        Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + userType))
+                );
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authToken);
             }
         } catch (Exception e) {
             logger.error("JWT 토큰 처리 중 오류 발생", e);
@@ -1,5 +1,6 @@
 package com.counseling.security;
 
+import io.jsonwebtoken.Claims;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
@@ -20,6 +21,15 @@ public class SecurityUtil {
         return null;
     }
     
+    // 현재 요청의 JWT Claims (JwtAuthenticationFilter에서 credentials로 설정)
+    public static Claims getCurrentClaims() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getCredentials() instanceof Claims claims) {
+            return claims;
+        }
+        return null;
+    }
+    
     // 테스트용 메서드
     public static void setCurrentUserId(String userId) {
         testUserId = userId;
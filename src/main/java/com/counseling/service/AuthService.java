@@ -7,8 +7,10 @@ import com.counseling.entity.User;
 import com.counseling.exception.BusinessException;
 import com.counseling.exception.ErrorCode;
 import com.counseling.repository.UserRepository;
+import com.counseling.security.PasswordHashingExecutor;
+import com.counseling.security.SecurityUtil;
 import com.counseling.util.JwtUtil;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import io.jsonwebtoken.Claims;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,13 +20,16 @@ import java.util.UUID;
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingExecutor passwordHashingExecutor;
     private final JwtUtil jwtUtil;
+    private final TokenRevocationService tokenRevocationService;
 
-    public AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtUtil jwtUtil) {
+    public AuthService(UserRepository userRepository, PasswordHashingExecutor passwordHashingExecutor, JwtUtil jwtUtil,
+                       TokenRevocationService tokenRevocationService) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingExecutor = passwordHashingExecutor;
         this.jwtUtil = jwtUtil;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     @Transactional
@@ -36,7 +41,7 @@ public class AuthService {
         User user = User.builder()
                 .userId(UUID.randomUUID().toString())
                 .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(passwordHashingExecutor.encode(request.getPassword()))
                 .name(request.getName())
                 .userType(request.getUserTypeEnum())
                 .build();
@@ -58,10 +63,16 @@ public class AuthService {
         User user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new BusinessException(ErrorCode.INVALID_CREDENTIALS));
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        if (!passwordHashingExecutor.matches(request.getPassword(), user.getPassword())) {
             throw new BusinessException(ErrorCode.INVALID_CREDENTIALS);
         }
 
+        // 이전 cost로 저장된 해시는 로그인 성공 시 현재 cost로 다시 저장
+        if (passwordHashingExecutor.needsRehash(user.getPassword())) {
+            user.setPassword(passwordHashingExecutor.encode(request.getPassword()));
+            userRepository.save(user);
+        }
+
         String token = jwtUtil.generateToken(user.getUserId(), user.getUserType().name());
 
         return AuthResponse.builder()
@@ -74,14 +85,15 @@ public class AuthService {
     }
 
     public void logout() {
-        // JWT는 stateless이므로 서버 측에서 별도 처리가 필요 없음
-        // 클라이언트에서 토큰을 삭제하면 됨
-        // 향후 토큰 블랙리스트 기능이 필요하면 여기에 추가 가능
-        String userId = com.counseling.security.SecurityUtil.getCurrentUserId();
+        String userId = SecurityUtil.getCurrentUserId();
         if (userId == null) {
             throw new BusinessException(ErrorCode.UNAUTHORIZED);
         }
-        // 로그아웃 성공 (추가 로직이 필요하면 여기에 구현)
+        // 현재 토큰을 만료 시각까지 폐기 목록에 등록
+        Claims claims = SecurityUtil.getCurrentClaims();
+        if (claims != null) {
+            tokenRevocationService.revoke(claims.getId(), userId, claims.getExpiration());
+        }
     }
 }
 
@@ -0,0 +1,53 @@
+package com.counseling.service;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// 권한 확인과 동시 실행 수 확보가 끝난 내보내기 요청
+// 스트리밍이 끝나면(또는 시작하지 못하면) 반드시 close하여 동시 실행 수를 반환한다
+@Getter
+public final class CardExport implements AutoCloseable {
+
+    private final String roomId;
+    private final String clientId; // null이면 상담방 전체
+    private final LocalDate from;
+    private final LocalDate to;
+    private final CardExportFormat format;
+
+    @Getter(AccessLevel.NONE)
+    private final Semaphore permits;
+    @Getter(AccessLevel.NONE)
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    CardExport(String roomId, String clientId, LocalDate from, LocalDate to, CardExportFormat format, Semaphore permits) {
+        this.roomId = roomId;
+        this.clientId = clientId;
+        this.from = from;
+        this.to = to;
+        this.format = format;
+        this.permits = permits;
+    }
+
+    // dbt-cards-<상담방>[-<내담자>][-<from>_<to>].<형식>
+    public String getFileName() {
+        StringBuilder name = new StringBuilder("dbt-cards-").append(roomId);
+        if (clientId != null) {
+            name.append('-').append(clientId);
+        }
+        if (from != null || to != null) {
+            name.append('-').append(from != null ? from : "").append('_').append(to != null ? to : "");
+        }
+        return name.append('.').append(format.getValue()).toString();
+    }
+
+    @Override
+    public void close() {
+        if (released.compareAndSet(false, true)) {
+            permits.release();
+        }
+    }
+}
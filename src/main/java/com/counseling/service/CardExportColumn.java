@@ -0,0 +1,77 @@
+package com.counseling.service;
+
+import com.counseling.entity.DBTCard;
+
+import java.util.function.Function;
+
+// CSV/XLSX 내보내기 열 (순서대로 기록)
+enum CardExportColumn {
+    CLIENT_ID("내담자 ID", Kind.TEXT, card -> card.getClient().getUserId()),
+    CLIENT_NAME("내담자 이름", Kind.TEXT, card -> card.getClient().getName()),
+    CLIENT_EMAIL("내담자 이메일", Kind.TEXT, card -> card.getClient().getEmail()),
+    DATE("날짜", Kind.DATE, DBTCard::getDate),
+    HEADER_NAME("이름", Kind.TEXT, DBTCard::getHeaderName),
+    HEADER_WRITTEN_DURING_COUNSELING("상담 중 작성", Kind.TEXT, card -> enumName(card.getHeaderWrittenDuringCounseling())),
+    HEADER_FREQUENCY("작성 빈도", Kind.TEXT, DBTCard::getHeaderFrequency),
+    IMPULSE1_TEXT("충동1", Kind.TEXT, DBTCard::getImpulse1Text),
+    IMPULSE1_INTENSITY("충동1 강도", Kind.NUMBER, DBTCard::getImpulse1Intensity),
+    ACTION1_TEXT("행동1", Kind.TEXT, DBTCard::getAction1Text),
+    ACTION1_INTENSITY("행동1 강도", Kind.NUMBER, DBTCard::getAction1Intensity),
+    THOUGHT_TEXT("생각", Kind.TEXT, DBTCard::getThoughtText),
+    THOUGHT_INTENSITY("생각 강도", Kind.NUMBER, DBTCard::getThoughtIntensity),
+    ACTION2_TEXT("행동2", Kind.TEXT, DBTCard::getAction2Text),
+    ACTION2_INTENSITY("행동2 강도", Kind.NUMBER, DBTCard::getAction2Intensity),
+    IMPULSE2_TEXT("충동2", Kind.TEXT, DBTCard::getImpulse2Text),
+    IMPULSE2_INTENSITY("충동2 강도", Kind.NUMBER, DBTCard::getImpulse2Intensity),
+    ACTION3_TEXT("행동3", Kind.TEXT, DBTCard::getAction3Text),
+    ACTION3_INTENSITY("행동3 강도", Kind.NUMBER, DBTCard::getAction3Intensity),
+    MEDICATION("약물 복용", Kind.TEXT, card -> enumName(card.getMedication())),
+    TARGET_BEHAVIOR1("목표 행동1", Kind.TEXT, DBTCard::getTargetBehavior1),
+    TARGET_BEHAVIOR2("목표 행동2", Kind.TEXT, DBTCard::getTargetBehavior2),
+    SKILL_USE("기술 사용", Kind.NUMBER, DBTCard::getSkillUse),
+    SLEEP_TIME("취침 시간", Kind.TEXT, DBTCard::getSleepTime),
+    WAKE_TIME("기상 시간", Kind.TEXT, DBTCard::getWakeTime),
+    ANGER("분노", Kind.NUMBER, DBTCard::getAnger),
+    ANGER_KEYWORD("분노 키워드", Kind.TEXT, DBTCard::getAngerKeyword),
+    FEAR("두려움", Kind.NUMBER, DBTCard::getFear),
+    FEAR_KEYWORD("두려움 키워드", Kind.TEXT, DBTCard::getFearKeyword),
+    JOY("기쁨", Kind.NUMBER, DBTCard::getJoy),
+    JOY_KEYWORD("기쁨 키워드", Kind.TEXT, DBTCard::getJoyKeyword),
+    ANXIETY("불안", Kind.NUMBER, DBTCard::getAnxiety),
+    ANXIETY_KEYWORD("불안 키워드", Kind.TEXT, DBTCard::getAnxietyKeyword),
+    SADNESS("슬픔", Kind.NUMBER, DBTCard::getSadness),
+    SADNESS_KEYWORD("슬픔 키워드", Kind.TEXT, DBTCard::getSadnessKeyword),
+    SUBMITTED_AT("제출 시각", Kind.DATETIME, DBTCard::getSubmittedAt),
+    UPDATED_AT("수정 시각", Kind.DATETIME, DBTCard::getUpdatedAt);
+
+    // NUMBER는 숫자만 있는 값이면 스프레드시트에서 숫자로, 아니면 문자열로 기록
+    enum Kind {
+        TEXT, NUMBER, DATE, DATETIME
+    }
+
+    private final String label;
+    private final Kind kind;
+    private final Function<DBTCard, Object> reader;
+
+    CardExportColumn(String label, Kind kind, Function<DBTCard, Object> reader) {
+        this.label = label;
+        this.kind = kind;
+        this.reader = reader;
+    }
+
+    String getLabel() {
+        return label;
+    }
+
+    Kind getKind() {
+        return kind;
+    }
+
+    Object read(DBTCard card) {
+        return reader.apply(card);
+    }
+
+    private static String enumName(Enum<?> value) {
+        return value != null ? value.name() : null;
+    }
+}
@@ -0,0 +1,35 @@
+package com.counseling.service;
+
+// 카드 내보내기 형식
+public enum CardExportFormat {
+    NDJSON("ndjson", "application/x-ndjson"),
+    CSV("csv", "text/csv;charset=UTF-8"),
+    XLSX("xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+
+    public static final String DEFAULT_VALUE = "ndjson";
+
+    private final String value;
+    private final String mediaType;
+
+    CardExportFormat(String value, String mediaType) {
+        this.value = value;
+        this.mediaType = mediaType;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public static CardExportFormat fromValue(String value) {
+        for (CardExportFormat format : CardExportFormat.values()) {
+            if (format.value.equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        return null;
+    }
+}
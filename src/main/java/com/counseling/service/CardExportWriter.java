@@ -0,0 +1,268 @@
+package com.counseling.service;
+
+import com.counseling.dto.DBTCardResponse;
+import com.counseling.entity.DBTCard;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.function.Function;
+
+// 내보내기 형식별로 카드를 한 행씩 기록
+abstract class CardExportWriter implements Closeable {
+
+    static CardExportWriter open(CardExportFormat format, OutputStream out, ObjectWriter jsonWriter,
+                                 Function<DBTCard, DBTCardResponse> mapper, int xlsxRowWindow) throws IOException {
+        return switch (format) {
+            case NDJSON -> new Ndjson(out, jsonWriter, mapper);
+            case CSV -> new Csv(out);
+            case XLSX -> new Xlsx(out, xlsxRowWindow);
+        };
+    }
+
+    abstract void write(DBTCard card) throws IOException;
+
+    // 지금까지 기록한 행을 응답으로 전송
+    abstract void flush() throws IOException;
+
+    // 마지막 행까지 기록한 뒤 호출
+    void finish() throws IOException {
+        flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+    }
+
+    private static boolean isDigits(String value) {
+        if (value.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (!Character.isDigit(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 한 줄에 카드 하나 (상세 조회와 같은 JSON)
+    private static final class Ndjson extends CardExportWriter {
+        private final ObjectWriter jsonWriter;
+        private final Function<DBTCard, DBTCardResponse> mapper;
+        private final JsonGenerator generator;
+
+        private Ndjson(OutputStream out, ObjectWriter jsonWriter, Function<DBTCard, DBTCardResponse> mapper) throws IOException {
+            this.jsonWriter = jsonWriter;
+            this.mapper = mapper;
+            this.generator = jsonWriter.createGenerator(out);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        void write(DBTCard card) throws IOException {
+            jsonWriter.writeValue(generator, mapper.apply(card));
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        void flush() throws IOException {
+            generator.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+
+    // RFC 4180 CSV, Excel에서 한글이 깨지지 않도록 UTF-8 BOM으로 시작
+    private static final class Csv extends CardExportWriter {
+        private static final DateTimeFormatter DATETIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+        private final Writer writer;
+
+        private Csv(OutputStream out) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+            writer.write('\uFEFF');
+            CardExportColumn[] columns = CardExportColumn.values();
+            for (int i = 0; i < columns.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(columns[i].getLabel());
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        void write(DBTCard card) throws IOException {
+            CardExportColumn[] columns = CardExportColumn.values();
+            for (int i = 0; i < columns.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                Object value = columns[i].read(card);
+                if (value == null) {
+                    continue;
+                }
+                if (value instanceof LocalDateTime dateTime) {
+                    writer.write(DATETIME.format(dateTime));
+                } else if (columns[i].getKind() == CardExportColumn.Kind.DATE) {
+                    writer.write(value.toString());
+                } else {
+                    // 강도/점수 항목도 입력 검증이 없는 문자열이므로 숫자가 아니면 텍스트와 같이 처리
+                    String text = value.toString();
+                    if (columns[i].getKind() == CardExportColumn.Kind.NUMBER && isDigits(text)) {
+                        writer.write(text);
+                    } else {
+                        writeText(text);
+                    }
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        private void writeText(String value) throws IOException {
+            // 스프레드시트에서 수식으로 해석되지 않도록 앞에 ' 추가
+            if (!value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+                value = "'" + value;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        void flush() throws IOException {
+            writer.flush();
+        }
+    }
+
+    // SXSSF는 최근 rowWindow개 행만 메모리에 두고 나머지는 압축 임시 파일로 내려쓴다
+    // xlsx는 zip 형식이라 응답 전송은 마지막 행을 읽은 뒤 finish에서 한 번에 이뤄진다
+    private static final class Xlsx extends CardExportWriter {
+        private static final int MAX_ROWS = SpreadsheetVersion.EXCEL2007.getMaxRows();
+        private static final int MAX_TEXT_LENGTH = SpreadsheetVersion.EXCEL2007.getMaxTextLength();
+
+        private final OutputStream out;
+        private final SXSSFWorkbook workbook;
+        private final CellStyle headerStyle;
+        private final CellStyle dateStyle;
+        private final CellStyle dateTimeStyle;
+        private SXSSFSheet sheet;
+        private int sheetCount;
+        private int rowIndex;
+
+        private Xlsx(OutputStream out, int rowWindow) {
+            this.out = out;
+            this.workbook = new SXSSFWorkbook(rowWindow);
+            workbook.setCompressTempFiles(true);
+
+            Font bold = workbook.createFont();
+            bold.setBold(true);
+            headerStyle = workbook.createCellStyle();
+            headerStyle.setFont(bold);
+            short dateFormat = workbook.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd");
+            dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(dateFormat);
+            short dateTimeFormat = workbook.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd hh:mm:ss");
+            dateTimeStyle = workbook.createCellStyle();
+            dateTimeStyle.setDataFormat(dateTimeFormat);
+
+            newSheet();
+        }
+
+        // 시트 최대 행 수를 넘으면 다음 시트에 이어서 기록
+        private void newSheet() {
+            sheetCount++;
+            sheet = workbook.createSheet(sheetCount == 1 ? "DBT 일기카드" : "DBT 일기카드 (" + sheetCount + ")");
+            sheet.createFreezePane(0, 1);
+            Row header = sheet.createRow(0);
+            CardExportColumn[] columns = CardExportColumn.values();
+            for (int i = 0; i < columns.length; i++) {
+                Cell cell = header.createCell(i);
+                cell.setCellValue(columns[i].getLabel());
+                cell.setCellStyle(headerStyle);
+            }
+            rowIndex = 1;
+        }
+
+        @Override
+        void write(DBTCard card) {
+            if (rowIndex >= MAX_ROWS) {
+                newSheet();
+            }
+            Row row = sheet.createRow(rowIndex++);
+            CardExportColumn[] columns = CardExportColumn.values();
+            for (int i = 0; i < columns.length; i++) {
+                Object value = columns[i].read(card);
+                if (value == null) {
+                    continue;
+                }
+                Cell cell = row.createCell(i);
+                switch (columns[i].getKind()) {
+                    case DATE -> {
+                        cell.setCellValue((LocalDate) value);
+                        cell.setCellStyle(dateStyle);
+                    }
+                    case DATETIME -> {
+                        cell.setCellValue((LocalDateTime) value);
+                        cell.setCellStyle(dateTimeStyle);
+                    }
+                    case NUMBER -> {
+                        String text = value.toString();
+                        if (isDigits(text) && text.length() <= 9) {
+                            cell.setCellValue(Integer.parseInt(text));
+                        } else {
+                            cell.setCellValue(text);
+                        }
+                    }
+                    default -> {
+                        String text = value.toString();
+                        cell.setCellValue(text.length() > MAX_TEXT_LENGTH ? text.substring(0, MAX_TEXT_LENGTH) : text);
+                    }
+                }
+            }
+        }
+
+        @Override
+        void flush() {
+            // 행은 rowWindow를 넘을 때마다 임시 파일로 내려가므로 여기서는 할 일이 없음
+        }
+
+        @Override
+        void finish() throws IOException {
+            workbook.write(out);
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            // 임시 파일 삭제
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+}
@@ -0,0 +1,485 @@
+package com.counseling.service;
+
+import com.counseling.config.CardSearchProperties;
+import com.counseling.entity.DBTCard;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+// 상담방별 DBT 일기카드 본문/키워드 역색인 (인메모리)
+// 한글은 띄어쓰기나 조사로 단어 경계를 나누기 어려우므로 단어를 1글자, 2글자 n-gram으로 색인하고,
+// 검색어의 n-gram을 모두 포함한 카드를 BM25 점수로 정렬한다
+// 상담방 색인은 처음 검색할 때 DB에서 만들고, 이후에는 카드 저장 커밋 후 갱신한다
+// 색인에는 만들 때의 rooms.version을 기록하고, 검색 시 상담방 버전이 더 크면(다른 인스턴스의 저장 등)
+// 그 사이 수정된 카드만 DB에서 읽어 반영한다. 오래 검색하지 않은 상담방은 제거한다
+@Component
+public class CardSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(CardSearchIndex.class);
+
+    private static final double BM25_K1 = 1.2;
+    private static final double BM25_B = 0.75;
+    private static final int MAX_TERM_FREQUENCY = 0xFFFF;
+    // 다른 인스턴스와의 시계 차이/늦게 커밋된 트랜잭션을 감안해 수정 시각을 겹쳐서 읽는 시간
+    private static final long SYNC_OVERLAP_SECONDS = 30;
+    // 삭제 표시된 문서가 이 수와 살아 있는 문서 수를 모두 넘으면 색인을 버리고 다음 검색 때 다시 만든다
+    private static final int REBUILD_THRESHOLD = 1000;
+
+    private final CardSearchProperties properties;
+    private final Map<String, RoomIndex> rooms = new ConcurrentHashMap<>();
+
+    public CardSearchIndex(CardSearchProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+
+        Gauge.builder("card_search.rooms", rooms, Map::size).register(meterRegistry);
+        Gauge.builder("card_search.documents", rooms,
+                map -> map.values().stream().mapToInt(RoomIndex::liveCount).sum()).register(meterRegistry);
+    }
+
+    // 검색 대상 항목 (이름은 응답 JSON의 필드명)
+    public enum Field {
+        IMPULSE1_TEXT("impulse1Text", DBTCard::getImpulse1Text),
+        ACTION1_TEXT("action1Text", DBTCard::getAction1Text),
+        THOUGHT_TEXT("thoughtText", DBTCard::getThoughtText),
+        ACTION2_TEXT("action2Text", DBTCard::getAction2Text),
+        IMPULSE2_TEXT("impulse2Text", DBTCard::getImpulse2Text),
+        ACTION3_TEXT("action3Text", DBTCard::getAction3Text),
+        ANGER_KEYWORD("angerKeyword", DBTCard::getAngerKeyword),
+        FEAR_KEYWORD("fearKeyword", DBTCard::getFearKeyword),
+        JOY_KEYWORD("joyKeyword", DBTCard::getJoyKeyword),
+        ANXIETY_KEYWORD("anxietyKeyword", DBTCard::getAnxietyKeyword),
+        SADNESS_KEYWORD("sadnessKeyword", DBTCard::getSadnessKeyword);
+
+        private final String value;
+        private final Function<DBTCard, String> reader;
+
+        Field(String value, Function<DBTCard, String> reader) {
+            this.value = value;
+            this.reader = reader;
+        }
+
+        public String getValue() {
+            return value;
+        }
+    }
+
+    // 색인에 넣을 카드 내용 (커밋 후 갱신에 쓰도록 엔티티와 분리해서 보관)
+    public record Document(String cardId, String roomId, String clientId, LocalDate date, long version, String[] texts) {
+    }
+
+    public record Hit(String cardId, String clientId, LocalDate date, double score, List<String> fields) {
+    }
+
+    public static Document documentOf(DBTCard card) {
+        Field[] fields = Field.values();
+        String[] texts = new String[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            texts[i] = fields[i].reader.apply(card);
+        }
+        return new Document(card.getCardId(), card.getRoom().getRoomId(), card.getClient().getUserId(),
+                card.getDate(), card.getVersion() != null ? card.getVersion() : 0L, texts);
+    }
+
+    // 검색어를 n-gram으로 변환 (단어가 한 글자면 1-gram, 두 글자 이상이면 2-gram)
+    public static int[] queryTerms(String query) {
+        Set<Integer> terms = new LinkedHashSet<>();
+        forEachWord(normalize(query), (word, start, end) -> {
+            if (end - start == 1) {
+                terms.add(unigram(word.charAt(start)));
+            } else {
+                for (int i = start; i < end - 1; i++) {
+                    terms.add(bigram(word.charAt(i), word.charAt(i + 1)));
+                }
+            }
+        });
+        return terms.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    // 점수순 상위 limit건 (clientId가 있으면 해당 내담자의 카드만)
+    // roomVersion은 호출한 트랜잭션에서 읽은 rooms.version
+    // 상담방 색인이 없으면 loader로 읽어서 만들고, 색인이 그 버전보다 뒤처졌으면 changedSince로 그 사이 수정된 카드만 읽는다
+    // (두 함수는 호출한 트랜잭션 안에서 실행되므로 버전을 읽은 시점 이후의 스냅샷을 본다)
+    public List<Hit> search(String roomId, int[] terms, String clientId, int offset, int limit, long roomVersion,
+                            Supplier<Stream<Document>> loader, Function<LocalDateTime, Stream<Document>> changedSince) {
+        while (true) {
+            RoomIndex index = getOrLoad(roomId, roomVersion, loader);
+            if (index.roomVersion < roomVersion) {
+                catchUp(roomId, index, roomVersion, changedSince);
+            }
+            index.lock.readLock().lock();
+            try {
+                if (!index.ready) {
+                    continue; // 적재 실패 후 제거된 색인 (다시 시도)
+                }
+                index.lastAccess = System.currentTimeMillis();
+                return index.search(terms, clientId, offset, limit);
+            } finally {
+                index.lock.readLock().unlock();
+            }
+        }
+    }
+
+    // 마지막 동기화 이후 수정된 카드 반영 (이미 반영한 버전은 put에서 무시)
+    private void catchUp(String roomId, RoomIndex index, long roomVersion,
+                         Function<LocalDateTime, Stream<Document>> changedSince) {
+        index.lock.writeLock().lock();
+        try {
+            if (!index.ready || index.roomVersion >= roomVersion) {
+                return;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            int count = 0;
+            try (Stream<Document> documents = changedSince.apply(index.syncedAt.minusSeconds(SYNC_OVERLAP_SECONDS))) {
+                for (Document document : (Iterable<Document>) documents::iterator) {
+                    index.put(document);
+                    count++;
+                }
+            }
+            index.syncedAt = now;
+            index.roomVersion = roomVersion;
+            logger.debug("카드 검색 색인 동기화: roomId={}, 버전 {}, 카드 {}건", roomId, roomVersion, count);
+        } finally {
+            index.lock.writeLock().unlock();
+        }
+    }
+
+    // 카드 저장 커밋 후 호출 (색인이 아직 없는 상담방은 나중에 DB에서 만들므로 무시)
+    public void update(Document document) {
+        RoomIndex index = rooms.get(document.roomId());
+        if (index == null) {
+            return;
+        }
+        index.lock.writeLock().lock();
+        try {
+            if (!index.ready) {
+                return;
+            }
+            index.put(document);
+            if (index.deletedCount() > REBUILD_THRESHOLD && index.deletedCount() > index.liveCount()) {
+                rooms.remove(document.roomId(), index);
+            }
+        } finally {
+            index.lock.writeLock().unlock();
+        }
+    }
+
+    public void removeRoom(String roomId) {
+        rooms.remove(roomId);
+    }
+
+    @Scheduled(fixedDelayString = "${card-search.sweep-interval:60000}")
+    public void evictIdle() {
+        long cutoff = System.currentTimeMillis() - properties.getIdleMillis();
+        rooms.entrySet().removeIf(entry -> entry.getValue().ready && entry.getValue().lastAccess < cutoff);
+    }
+
+    private RoomIndex getOrLoad(String roomId, long roomVersion, Supplier<Stream<Document>> loader) {
+        RoomIndex index = rooms.get(roomId);
+        if (index != null) {
+            return index;
+        }
+
+        // 같은 상담방을 동시에 검색하면 한 요청만 적재하고 나머지는 읽기 잠금에서 기다린다
+        RoomIndex created = new RoomIndex();
+        created.lock.writeLock().lock();
+        try {
+            RoomIndex existing = rooms.putIfAbsent(roomId, created);
+            if (existing != null) {
+                return existing;
+            }
+            evictOverflow();
+            long start = System.currentTimeMillis();
+            created.syncedAt = LocalDateTime.now();
+            created.roomVersion = roomVersion;
+            try (Stream<Document> documents = loader.get()) {
+                documents.forEach(created::put);
+            } catch (RuntimeException e) {
+                rooms.remove(roomId, created);
+                throw e;
+            }
+            created.ready = true;
+            created.lastAccess = System.currentTimeMillis();
+            logger.info("카드 검색 색인 생성: roomId={}, 카드 {}건, {}ms", roomId, created.liveCount(),
+                    System.currentTimeMillis() - start);
+            return created;
+        } finally {
+            created.lock.writeLock().unlock();
+        }
+    }
+
+    private void evictOverflow() {
+        while (rooms.size() > properties.getMaxRooms()) {
+            String oldest = null;
+            long oldestAccess = Long.MAX_VALUE;
+            for (Map.Entry<String, RoomIndex> entry : rooms.entrySet()) {
+                if (entry.getValue().ready && entry.getValue().lastAccess < oldestAccess) {
+                    oldest = entry.getKey();
+                    oldestAccess = entry.getValue().lastAccess;
+                }
+            }
+            if (oldest == null) {
+                return;
+            }
+            rooms.remove(oldest);
+        }
+    }
+
+    private static String normalize(String text) {
+        return Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+    }
+
+    // 글자/숫자가 이어진 구간을 단어로 본다
+    private static void forEachWord(String text, WordConsumer consumer) {
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                consumer.accept(text, start, i);
+                start = -1;
+            }
+        }
+    }
+
+    // 1-gram은 하위 16비트만, 2-gram은 상위 16비트에 첫 글자 (단어 글자는 0이 아니므로 겹치지 않음)
+    private static int unigram(char c) {
+        return c;
+    }
+
+    private static int bigram(char first, char second) {
+        return (first << 16) | second;
+    }
+
+    private interface WordConsumer {
+        void accept(String text, int start, int end);
+    }
+
+    // 한 n-gram이 나온 문서 목록 (문서 번호 오름차순)
+    // 문서마다 (빈도 << 16 | 항목 비트마스크)를 함께 저장
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private int[] packed = new int[4];
+        private int size;
+
+        private void add(int doc, int frequency, int fieldMask) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                packed = Arrays.copyOf(packed, size * 2);
+            }
+            docs[size] = doc;
+            packed[size] = (Math.min(frequency, MAX_TERM_FREQUENCY) << 16) | fieldMask;
+            size++;
+        }
+
+        // from 이후에서 doc 위치 (없으면 음수)
+        private int find(int doc, int from) {
+            return Arrays.binarySearch(docs, from, size, doc);
+        }
+    }
+
+    // 상담방 하나의 색인
+    // 카드가 수정되면 이전 문서는 삭제 표시만 하고 새 문서 번호로 다시 추가한다 (문서 번호 순서 유지)
+    private static final class RoomIndex {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<Integer, Postings> postings = new HashMap<>();
+        private final Map<String, Integer> docByCard = new HashMap<>();
+        private final BitSet deleted = new BitSet();
+        private String[] cardIds = new String[16];
+        private String[] clientIds = new String[16];
+        private LocalDate[] dates = new LocalDate[16];
+        private long[] versions = new long[16];
+        private int[] lengths = new int[16];
+        private int docCount;
+        private long totalLength;
+        private volatile boolean ready;
+        private volatile long lastAccess;
+        // 색인에 반영된 상담방 버전과 그 시점 (쓰기 잠금 안에서만 변경)
+        private volatile long roomVersion;
+        private LocalDateTime syncedAt;
+
+        private int liveCount() {
+            return docByCard.size();
+        }
+
+        private int deletedCount() {
+            return docCount - docByCard.size();
+        }
+
+        // 쓰기 잠금 안에서만 호출
+        private void put(Document document) {
+            Integer previous = docByCard.get(document.cardId());
+            if (previous != null) {
+                if (versions[previous] >= document.version()) {
+                    return; // 이미 같거나 더 최신 내용
+                }
+                deleted.set(previous);
+                totalLength -= lengths[previous];
+            }
+
+            // n-gram별 빈도와 나온 항목
+            Map<Integer, int[]> terms = new HashMap<>();
+            int length = 0;
+            String[] texts = document.texts();
+            for (int field = 0; field < texts.length; field++) {
+                if (texts[field] == null || texts[field].isBlank()) {
+                    continue;
+                }
+                int fieldBit = 1 << field;
+                int[] count = new int[1];
+                forEachWord(normalize(texts[field]), (word, start, end) -> {
+                    for (int i = start; i < end; i++) {
+                        addTerm(terms, unigram(word.charAt(i)), fieldBit);
+                        if (i + 1 < end) {
+                            addTerm(terms, bigram(word.charAt(i), word.charAt(i + 1)), fieldBit);
+                        }
+                        count[0]++;
+                    }
+                });
+                length += count[0];
+            }
+
+            int doc = docCount++;
+            if (doc == cardIds.length) {
+                int capacity = doc * 2;
+                cardIds = Arrays.copyOf(cardIds, capacity);
+                clientIds = Arrays.copyOf(clientIds, capacity);
+                dates = Arrays.copyOf(dates, capacity);
+                versions = Arrays.copyOf(versions, capacity);
+                lengths = Arrays.copyOf(lengths, capacity);
+            }
+            cardIds[doc] = document.cardId();
+            clientIds[doc] = document.clientId();
+            dates[doc] = document.date();
+            versions[doc] = document.version();
+            lengths[doc] = length;
+            totalLength += length;
+            docByCard.put(document.cardId(), doc);
+
+            for (Map.Entry<Integer, int[]> term : terms.entrySet()) {
+                postings.computeIfAbsent(term.getKey(), key -> new Postings())
+                        .add(doc, term.getValue()[0], term.getValue()[1]);
+            }
+        }
+
+        private static void addTerm(Map<Integer, int[]> terms, int term, int fieldBit) {
+            int[] stats = terms.computeIfAbsent(term, key -> new int[2]);
+            stats[0]++;
+            stats[1] |= fieldBit;
+        }
+
+        // 읽기 잠금 안에서만 호출
+        // 가장 짧은 목록을 기준으로 나머지 목록을 이진 탐색하며 교집합을 구하고, 상위 offset + limit건만 힙에 유지
+        private List<Hit> search(int[] terms, String clientId, int offset, int limit) {
+            int live = liveCount();
+            if (terms.length == 0 || live == 0) {
+                return List.of();
+            }
+            Postings[] lists = new Postings[terms.length];
+            for (int i = 0; i < terms.length; i++) {
+                lists[i] = postings.get(terms[i]);
+                if (lists[i] == null) {
+                    return List.of();
+                }
+            }
+            Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+
+            double[] idf = new double[lists.length];
+            for (int i = 0; i < lists.length; i++) {
+                double df = Math.min(lists[i].size, live);
+                idf[i] = Math.log(1 + (live - df + 0.5) / (df + 0.5));
+            }
+            double averageLength = Math.max(1.0, (double) totalLength / live);
+
+            int keep = offset + limit;
+            PriorityQueue<ScoredDoc> top = new PriorityQueue<>(Comparator.comparingDouble(ScoredDoc::score)
+                    .thenComparing(scored -> dates[scored.doc()])
+                    .thenComparing(scored -> cardIds[scored.doc()], Comparator.reverseOrder()));
+            int[] positions = new int[lists.length];
+            Postings shortest = lists[0];
+
+            candidates:
+            for (int p = 0; p < shortest.size; p++) {
+                int doc = shortest.docs[p];
+                if (deleted.get(doc) || (clientId != null && !clientId.equals(clientIds[doc]))) {
+                    continue;
+                }
+                positions[0] = p;
+                for (int i = 1; i < lists.length; i++) {
+                    int found = lists[i].find(doc, positions[i]);
+                    if (found < 0) {
+                        positions[i] = -found - 1;
+                        if (positions[i] >= lists[i].size) {
+                            break candidates;
+                        }
+                        continue candidates;
+                    }
+                    positions[i] = found;
+                }
+
+                double norm = BM25_K1 * (1 - BM25_B + BM25_B * lengths[doc] / averageLength);
+                double score = 0;
+                int allFields = -1;
+                int anyFields = 0;
+                for (int i = 0; i < lists.length; i++) {
+                    int packed = lists[i].packed[positions[i]];
+                    int frequency = packed >>> 16;
+                    score += idf[i] * frequency * (BM25_K1 + 1) / (frequency + norm);
+                    allFields &= packed & 0xFFFF;
+                    anyFields |= packed & 0xFFFF;
+                }
+                top.add(new ScoredDoc(doc, score, allFields != 0 ? allFields : anyFields));
+                if (top.size() > keep) {
+                    top.poll();
+                }
+            }
+
+            List<ScoredDoc> ranked = new ArrayList<>(top);
+            ranked.sort(top.comparator().reversed());
+            List<Hit> hits = new ArrayList<>(Math.max(0, ranked.size() - offset));
+            for (Iterator<ScoredDoc> it = ranked.listIterator(Math.min(offset, ranked.size())); it.hasNext(); ) {
+                ScoredDoc scored = it.next();
+                hits.add(new Hit(cardIds[scored.doc()], clientIds[scored.doc()], dates[scored.doc()],
+                        scored.score(), fieldNames(scored.fieldMask())));
+            }
+            return hits;
+        }
+
+        private static List<String> fieldNames(int fieldMask) {
+            List<String> names = new ArrayList<>(Integer.bitCount(fieldMask));
+            for (Field field : Field.values()) {
+                if ((fieldMask & (1 << field.ordinal())) != 0) {
+                    names.add(field.getValue());
+                }
+            }
+            return names;
+        }
+    }
+
+    private record ScoredDoc(int doc, double score, int fieldMask) {
+    }
+}
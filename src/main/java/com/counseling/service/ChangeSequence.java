@@ -0,0 +1,40 @@
+package com.counseling.service;
+
+import com.counseling.repository.IdSequenceRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+// 동기화 커서 기준이 되는 사용자별 변경 순번
+// id_sequences의 "sync:<userId>" 행을 갱신하며 얻은 잠금이 트랜잭션 끝까지 유지되므로,
+// 같은 사용자의 변경은 순번 순서대로 커밋되어 커서보다 작은 순번이 나중에 나타나지 않는다
+// 잠금 순서: (카드 저장/나가기는 멤버십 행 →) 상담방 행 → 순번 행 → 사용자 행 (카드/멤버 INSERT의 외래 키 확인)
+// 반드시 쓰기 트랜잭션 안에서 호출
+@Component
+public class ChangeSequence {
+
+    private static final String NAME_PREFIX = "sync:";
+
+    private final IdSequenceRepository idSequenceRepository;
+
+    public ChangeSequence(IdSequenceRepository idSequenceRepository) {
+        this.idSequenceRepository = idSequenceRepository;
+    }
+
+    public long next(String userId) {
+        idSequenceRepository.reserveNext(NAME_PREFIX + userId);
+        return idSequenceRepository.lastReserved();
+    }
+
+    // 여러 사용자의 순번을 한 트랜잭션에서 발급 (교착을 피하도록 사용자 ID 순서로 잠금)
+    public Map<String, Long> next(Collection<String> userIds) {
+        Map<String, Long> sequences = new LinkedHashMap<>();
+        for (String userId : new TreeSet<>(userIds)) {
+            sequences.put(userId, next(userId));
+        }
+        return sequences;
+    }
+}
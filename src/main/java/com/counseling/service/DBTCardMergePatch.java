@@ -0,0 +1,115 @@
+package com.counseling.service;
+
+import com.counseling.entity.DBTCard;
+import com.counseling.exception.BusinessException;
+import com.counseling.exception.ErrorCode;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+// RFC 7386 JSON Merge Patch를 카드에 적용
+// 문서 구조는 DBTCardRequest와 같고({"header": {...}, "dayData": {...}}), 없는 멤버는 그대로 두며 null은 값을 지운다
+final class DBTCardMergePatch {
+
+    private static final Map<String, BiConsumer<DBTCard, String>> HEADER_FIELDS = new LinkedHashMap<>();
+    private static final Map<String, BiConsumer<DBTCard, String>> DAY_DATA_FIELDS = new LinkedHashMap<>();
+
+    static {
+        HEADER_FIELDS.put("name", DBTCard::setHeaderName);
+        HEADER_FIELDS.put("writtenDuringCounseling",
+                (card, value) -> card.setHeaderWrittenDuringCounseling(yesNo("writtenDuringCounseling", value)));
+        HEADER_FIELDS.put("frequency", DBTCard::setHeaderFrequency);
+
+        DAY_DATA_FIELDS.put("impulse1Text", DBTCard::setImpulse1Text);
+        DAY_DATA_FIELDS.put("impulse1Intensity", DBTCard::setImpulse1Intensity);
+        DAY_DATA_FIELDS.put("action1Text", DBTCard::setAction1Text);
+        DAY_DATA_FIELDS.put("action1Intensity", DBTCard::setAction1Intensity);
+        DAY_DATA_FIELDS.put("thoughtText", DBTCard::setThoughtText);
+        DAY_DATA_FIELDS.put("thoughtIntensity", DBTCard::setThoughtIntensity);
+        DAY_DATA_FIELDS.put("action2Text", DBTCard::setAction2Text);
+        DAY_DATA_FIELDS.put("action2Intensity", DBTCard::setAction2Intensity);
+        DAY_DATA_FIELDS.put("impulse2Text", DBTCard::setImpulse2Text);
+        DAY_DATA_FIELDS.put("impulse2Intensity", DBTCard::setImpulse2Intensity);
+        DAY_DATA_FIELDS.put("action3Text", DBTCard::setAction3Text);
+        DAY_DATA_FIELDS.put("action3Intensity", DBTCard::setAction3Intensity);
+        DAY_DATA_FIELDS.put("medication", (card, value) -> card.setMedication(yesNo("medication", value)));
+        DAY_DATA_FIELDS.put("targetBehavior1", DBTCard::setTargetBehavior1);
+        DAY_DATA_FIELDS.put("targetBehavior2", DBTCard::setTargetBehavior2);
+        DAY_DATA_FIELDS.put("skillUse", DBTCard::setSkillUse);
+        DAY_DATA_FIELDS.put("sleepTime", DBTCard::setSleepTime);
+        DAY_DATA_FIELDS.put("wakeTime", DBTCard::setWakeTime);
+        DAY_DATA_FIELDS.put("anger", DBTCard::setAnger);
+        DAY_DATA_FIELDS.put("angerKeyword", DBTCard::setAngerKeyword);
+        DAY_DATA_FIELDS.put("fear", DBTCard::setFear);
+        DAY_DATA_FIELDS.put("fearKeyword", DBTCard::setFearKeyword);
+        DAY_DATA_FIELDS.put("joy", DBTCard::setJoy);
+        DAY_DATA_FIELDS.put("joyKeyword", DBTCard::setJoyKeyword);
+        DAY_DATA_FIELDS.put("anxiety", DBTCard::setAnxiety);
+        DAY_DATA_FIELDS.put("anxietyKeyword", DBTCard::setAnxietyKeyword);
+        DAY_DATA_FIELDS.put("sadness", DBTCard::setSadness);
+        DAY_DATA_FIELDS.put("sadnessKeyword", DBTCard::setSadnessKeyword);
+    }
+
+    private DBTCardMergePatch() {
+    }
+
+    static void apply(DBTCard card, JsonNode patch) {
+        if (patch == null || !patch.isObject()) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR, "패치 문서는 JSON 객체여야 합니다.");
+        }
+        Iterator<Map.Entry<String, JsonNode>> members = patch.fields();
+        while (members.hasNext()) {
+            Map.Entry<String, JsonNode> member = members.next();
+            switch (member.getKey()) {
+                case "header" -> applySection(card, "header", member.getValue(), HEADER_FIELDS);
+                case "dayData" -> applySection(card, "dayData", member.getValue(), DAY_DATA_FIELDS);
+                default -> throw new BusinessException(ErrorCode.VALIDATION_ERROR,
+                        "알 수 없는 항목입니다: " + member.getKey());
+            }
+        }
+    }
+
+    // 섹션이 null이면 섹션의 모든 항목을 지운다
+    private static void applySection(DBTCard card, String section, JsonNode patch,
+                                     Map<String, BiConsumer<DBTCard, String>> fields) {
+        if (patch.isNull()) {
+            fields.values().forEach(setter -> setter.accept(card, null));
+            return;
+        }
+        if (!patch.isObject()) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR, section + "는 객체 또는 null이어야 합니다.");
+        }
+        Iterator<Map.Entry<String, JsonNode>> members = patch.fields();
+        while (members.hasNext()) {
+            Map.Entry<String, JsonNode> member = members.next();
+            BiConsumer<DBTCard, String> setter = fields.get(member.getKey());
+            if (setter == null) {
+                throw new BusinessException(ErrorCode.VALIDATION_ERROR,
+                        "알 수 없는 항목입니다: " + section + "." + member.getKey());
+            }
+            JsonNode value = member.getValue();
+            if (value.isNull()) {
+                setter.accept(card, null);
+            } else if (value.isTextual() || value.isNumber()) {
+                setter.accept(card, value.asText());
+            } else {
+                throw new BusinessException(ErrorCode.VALIDATION_ERROR,
+                        section + "." + member.getKey() + "는 문자열, 숫자 또는 null이어야 합니다.");
+            }
+        }
+    }
+
+    private static DBTCard.YesNo yesNo(String field, String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return DBTCard.YesNo.valueOf(value);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR, field + "은 yes 또는 no여야 합니다.");
+        }
+    }
+}
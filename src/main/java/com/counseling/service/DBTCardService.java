@@ -1,77 +1,400 @@
 package com.counseling.service;
 
+import com.counseling.config.CardSearchProperties;
+import com.counseling.config.ExportProperties;
+import com.counseling.config.PaginationProperties;
+import com.counseling.dto.CardSearchHit;
+import com.counseling.dto.CursorPage;
+import com.counseling.dto.DBTCardBatchRequest;
+import com.counseling.dto.DBTCardBatchResponse;
+import com.counseling.dto.DBTCardPatchResponse;
 import com.counseling.dto.DBTCardRequest;
 import com.counseling.dto.DBTCardResponse;
+import com.counseling.dto.DBTCardSummary;
+import com.counseling.dto.RoomEvent;
 import com.counseling.entity.DBTCard;
+import com.counseling.entity.EmotionRollup;
 import com.counseling.entity.Room;
 import com.counseling.entity.User;
 import com.counseling.exception.BusinessException;
 import com.counseling.exception.ErrorCode;
 import com.counseling.repository.DBTCardRepository;
-import com.counseling.repository.RoomMemberRepository;
 import com.counseling.repository.RoomRepository;
 import com.counseling.repository.UserRepository;
-import com.counseling.security.SecurityUtil;
+import com.counseling.security.CurrentUserProvider;
+import com.counseling.util.CursorCodec;
+import com.counseling.util.TransactionUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 @Service
 public class DBTCardService {
 
+    private static final int EXPORT_FLUSH_INTERVAL = 500;
+
     private final DBTCardRepository dbtCardRepository;
     private final RoomRepository roomRepository;
     private final UserRepository userRepository;
-    private final RoomMemberRepository roomMemberRepository;
+    private final CurrentUserProvider currentUserProvider;
+    private final PaginationProperties paginationProperties;
+    private final RoomMembershipIndex membershipIndex;
+    private final RoomVersionRegistry roomVersionRegistry;
+    private final RoomEventHub roomEventHub;
+    private final EmotionRollupService emotionRollupService;
+    private final ObjectWriter exportJsonWriter;
+    private final ExportProperties exportProperties;
+    private final Semaphore exportPermits;
+    private final CardSearchIndex cardSearchIndex;
+    private final CardSearchProperties cardSearchProperties;
+    private final EmotionKeywordService emotionKeywordService;
+    private final EntityManager entityManager;
+    private final ChangeSequence changeSequence;
 
     public DBTCardService(DBTCardRepository dbtCardRepository, RoomRepository roomRepository,
-                         UserRepository userRepository, RoomMemberRepository roomMemberRepository) {
+                         UserRepository userRepository, CurrentUserProvider currentUserProvider,
+                         PaginationProperties paginationProperties,
+                         RoomMembershipIndex membershipIndex, RoomVersionRegistry roomVersionRegistry,
+                         RoomEventHub roomEventHub, EmotionRollupService emotionRollupService,
+                         ObjectMapper objectMapper, ExportProperties exportProperties,
+                         CardSearchIndex cardSearchIndex, CardSearchProperties cardSearchProperties,
+                         EmotionKeywordService emotionKeywordService, EntityManager entityManager,
+                         ChangeSequence changeSequence) {
         this.dbtCardRepository = dbtCardRepository;
         this.roomRepository = roomRepository;
         this.userRepository = userRepository;
-        this.roomMemberRepository = roomMemberRepository;
+        this.currentUserProvider = currentUserProvider;
+        this.paginationProperties = paginationProperties;
+        this.membershipIndex = membershipIndex;
+        this.roomVersionRegistry = roomVersionRegistry;
+        this.roomEventHub = roomEventHub;
+        this.emotionRollupService = emotionRollupService;
+        // 행마다 flush하지 않도록 (flush 시점은 직접 조절)
+        this.exportJsonWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.exportProperties = exportProperties;
+        this.exportPermits = new Semaphore(exportProperties.getMaxConcurrent());
+        this.cardSearchIndex = cardSearchIndex;
+        this.cardSearchProperties = cardSearchProperties;
+        this.emotionKeywordService = emotionKeywordService;
+        this.entityManager = entityManager;
+        this.changeSequence = changeSequence;
     }
 
-    @Transactional
+    // 같은 내담자의 저장은 멤버십 행 잠금으로 직렬화하므로, 갭 잠금 없이 최신 커밋을 읽도록 READ COMMITTED 사용
+    @Transactional(isolation = Isolation.READ_COMMITTED)
     public DBTCardResponse createOrUpdateCard(String roomId, DBTCardRequest request) {
-        String userId = SecurityUtil.getCurrentUserId();
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
+        User user = currentUserProvider.getCurrentUser();
 
-        if (user.getUserType() != User.UserType.client) {
-            throw new BusinessException(ErrorCode.FORBIDDEN);
+        LocalDate date;
+        try {
+            date = LocalDate.parse(request.getDate());
+        } catch (Exception e) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR, "날짜 형식이 올바르지 않습니다. YYYY-MM-DD 형식을 사용하세요.");
         }
 
-        Room room = roomRepository.findById(roomId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.ROOM_NOT_FOUND));
+        DBTCard card = lockCardAsClient(user, roomId, date);
+        Room room = roomRepository.getReferenceById(roomId);
+        Map<EmotionRollup.Metric, Integer> before = emotionRollupService.snapshot(card);
+        EmotionKeywordService.CardKeywords beforeKeywords = EmotionKeywordService.keywordsOf(card);
+        Object[] beforeContent = dbtCardRepository.contentOf(card);
+        card = prepareForUpsert(card, room, user, date);
 
-        // 상담방 참가 확인
-        if (!roomMemberRepository.existsByRoomAndUser(room, user)) {
-            throw new BusinessException(ErrorCode.FORBIDDEN);
+        applyRequest(card, request);
+
+        // 재시도 등으로 내용이 같으면 아무것도 바꾸지 않음
+        if (Arrays.equals(beforeContent, dbtCardRepository.contentOf(card))) {
+            return toResponse(card);
         }
 
+        card.setVersion(beforeContent != null ? card.getVersion() + 1 : 0L);
+        bumpRoomVersion(roomId);
+        card.setChangeSeq(changeSequence.next(user.getUserId()));
+        dbtCardRepository.upsert(List.of(card));
+        afterCardWrite(roomId, user.getUserId(), card, before, beforeKeywords);
+
+        return toResponse(card);
+    }
+
+    // 날짜 카드 부분 저장 (RFC 7386 JSON Merge Patch, 자동 저장용)
+    // 기존 카드는 값이 바뀐 컬럼만 UPDATE하고, 없으면 패치 내용으로 새로 만든다
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public DBTCardPatchResponse patchCard(String roomId, String dateStr, JsonNode patch) {
+        User user = currentUserProvider.getCurrentUser();
         LocalDate date;
         try {
-            date = LocalDate.parse(request.getDate());
+            date = LocalDate.parse(dateStr);
         } catch (Exception e) {
             throw new BusinessException(ErrorCode.VALIDATION_ERROR, "날짜 형식이 올바르지 않습니다. YYYY-MM-DD 형식을 사용하세요.");
         }
-        DBTCard card = dbtCardRepository.findByRoomAndClientAndDate(room, user, date)
-                .orElse(null);
 
-        if (card == null) {
-            card = DBTCard.builder()
-                    .cardId(UUID.randomUUID().toString())
-                    .room(room)
-                    .client(user)
-                    .date(date)
+        DBTCard card = lockCardAsClient(user, roomId, date);
+        Room room = roomRepository.getReferenceById(roomId);
+        Map<EmotionRollup.Metric, Integer> before = emotionRollupService.snapshot(card);
+        EmotionKeywordService.CardKeywords beforeKeywords = EmotionKeywordService.keywordsOf(card);
+        Object[] beforeContent = dbtCardRepository.contentOf(card);
+        card = prepareForUpsert(card, room, user, date);
+
+        DBTCardMergePatch.apply(card, patch);
+
+        List<String> changedColumns = dbtCardRepository.changedColumns(beforeContent, card);
+        if (beforeContent != null && changedColumns.isEmpty()) {
+            return DBTCardPatchResponse.builder().cardId(card.getCardId()).version(card.getVersion()).build();
+        }
+        bumpRoomVersion(roomId);
+        card.setChangeSeq(changeSequence.next(user.getUserId()));
+        if (beforeContent == null) {
+            dbtCardRepository.upsert(List.of(card));
+        } else {
+            card.setVersion(card.getVersion() + 1);
+            dbtCardRepository.updateColumns(card, changedColumns);
+        }
+        afterCardWrite(roomId, user.getUserId(), card, before, beforeKeywords);
+
+        return DBTCardPatchResponse.builder().cardId(card.getCardId()).version(card.getVersion()).build();
+    }
+
+    // 카드 저장 후 처리: 같은 트랜잭션에서 감정 집계/키워드 횟수를 반영하고, 커밋 후 검색 색인/이벤트 갱신
+    private void afterCardWrite(String roomId, String userId, DBTCard card,
+                                Map<EmotionRollup.Metric, Integer> before,
+                                EmotionKeywordService.CardKeywords beforeKeywords) {
+        LocalDate date = card.getDate();
+        emotionRollupService.apply(roomId, userId, date, before, emotionRollupService.snapshot(card));
+        emotionKeywordService.apply(roomId, beforeKeywords, EmotionKeywordService.keywordsOf(card));
+        String cardId = card.getCardId();
+        CardSearchIndex.Document searchDocument = CardSearchIndex.documentOf(card);
+        TransactionUtil.afterCommit(() -> {
+            cardSearchIndex.update(searchDocument);
+            roomEventHub.publish(RoomEvent.builder()
+                    .type(RoomEvent.CARD_SAVED)
+                    .roomId(roomId)
+                    .cardId(cardId)
+                    .userId(userId)
+                    .date(date.toString())
+                    .build());
+        });
+    }
+
+    // 여러 날짜의 카드를 한 트랜잭션에서 저장 ("all-at-once" 제출용)
+    // 상담방/멤버십 확인과 잠금, 기존 카드 조회(IN)는 한 번씩만 하고, 쓰기는 JDBC 배치로 전송된다
+    // 값이 잘못된 날짜는 건너뛰고 결과에 사유를 남기며, 나머지 날짜는 저장한다
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public DBTCardBatchResponse createOrUpdateCards(String roomId, DBTCardBatchRequest request) {
+        User user = currentUserProvider.getCurrentUser();
+        Room room = lockMembershipAsClient(user, roomId);
+
+        List<DBTCardRequest> entries = request.getCards();
+        DBTCardBatchResponse.DayResult[] results = new DBTCardBatchResponse.DayResult[entries.size()];
+        Map<LocalDate, Integer> validIndexes = new LinkedHashMap<>();
+
+        for (int i = 0; i < entries.size(); i++) {
+            DBTCardRequest entry = entries.get(i);
+            LocalDate date;
+            try {
+                date = LocalDate.parse(entry.getDate());
+            } catch (Exception e) {
+                results[i] = invalidResult(entry.getDate(), "날짜 형식이 올바르지 않습니다. YYYY-MM-DD 형식을 사용하세요.");
+                continue;
+            }
+            if (validIndexes.containsKey(date)) {
+                throw new BusinessException(ErrorCode.VALIDATION_ERROR, "같은 날짜가 여러 번 포함되어 있습니다: " + date);
+            }
+            String error = validateValues(entry);
+            if (error != null) {
+                results[i] = invalidResult(entry.getDate(), error);
+                continue;
+            }
+            validIndexes.put(date, i);
+        }
+
+        Map<LocalDate, DBTCard> existingCards = new HashMap<>();
+        if (!validIndexes.isEmpty()) {
+            for (DBTCard card : dbtCardRepository.findByRoomAndClientAndDateIn(room, user, validIndexes.keySet())) {
+                existingCards.put(card.getDate(), card);
+            }
+        }
+
+        List<DBTCard> changedCards = new ArrayList<>(validIndexes.size());
+        List<Map<EmotionRollup.Metric, Integer>> beforeValues = new ArrayList<>(validIndexes.size());
+        List<EmotionKeywordService.CardKeywords> beforeKeywords = new ArrayList<>(validIndexes.size());
+        List<RoomEvent> events = new ArrayList<>(validIndexes.size());
+        for (Map.Entry<LocalDate, Integer> valid : validIndexes.entrySet()) {
+            LocalDate date = valid.getKey();
+            DBTCard card = existingCards.get(date);
+            boolean created = card == null;
+            Map<EmotionRollup.Metric, Integer> before = emotionRollupService.snapshot(card);
+            EmotionKeywordService.CardKeywords keywordsBefore = EmotionKeywordService.keywordsOf(card);
+            Object[] beforeContent = dbtCardRepository.contentOf(card);
+            card = prepareForUpsert(card, room, user, date);
+
+            applyRequest(card, entries.get(valid.getValue()));
+
+            String status;
+            if (Arrays.equals(beforeContent, dbtCardRepository.contentOf(card))) {
+                status = DBTCardBatchResponse.DayResult.UNCHANGED;
+            } else {
+                status = created ? DBTCardBatchResponse.DayResult.CREATED : DBTCardBatchResponse.DayResult.UPDATED;
+                card.setVersion(created ? 0L : card.getVersion() + 1);
+                changedCards.add(card);
+                beforeValues.add(before);
+                beforeKeywords.add(keywordsBefore);
+                events.add(RoomEvent.builder()
+                        .type(RoomEvent.CARD_SAVED)
+                        .roomId(roomId)
+                        .cardId(card.getCardId())
+                        .userId(user.getUserId())
+                        .date(date.toString())
+                        .build());
+            }
+
+            results[valid.getValue()] = DBTCardBatchResponse.DayResult.builder()
+                    .date(date.toString())
+                    .status(status)
+                    .cardId(card.getCardId())
                     .build();
         }
 
+        // 변경된 카드 전체를 upsert 한 번(JDBC 배치)으로 저장한 뒤 집계 반영
+        // 함께 저장한 카드는 같은 변경 순번을 쓴다 (동기화 커서는 순번 + 카드 ID 키셋)
+        if (!changedCards.isEmpty()) {
+            bumpRoomVersion(roomId);
+            long changeSeq = changeSequence.next(user.getUserId());
+            changedCards.forEach(card -> card.setChangeSeq(changeSeq));
+        }
+        dbtCardRepository.upsert(changedCards);
+        List<CardSearchIndex.Document> searchDocuments = new ArrayList<>(changedCards.size());
+        for (int i = 0; i < changedCards.size(); i++) {
+            DBTCard card = changedCards.get(i);
+            emotionRollupService.apply(roomId, user.getUserId(), card.getDate(), beforeValues.get(i),
+                    emotionRollupService.snapshot(card));
+            emotionKeywordService.apply(roomId, beforeKeywords.get(i), EmotionKeywordService.keywordsOf(card));
+            searchDocuments.add(CardSearchIndex.documentOf(card));
+        }
+
+        if (!events.isEmpty()) {
+            TransactionUtil.afterCommit(() -> {
+                searchDocuments.forEach(cardSearchIndex::update);
+                events.forEach(roomEventHub::publish);
+            });
+        }
+
+        return DBTCardBatchResponse.builder()
+                .savedCount(validIndexes.size())
+                .invalidCount(entries.size() - validIndexes.size())
+                .results(Arrays.asList(results))
+                .build();
+    }
+
+    // 카드 쓰기 전 멤버십 확인과 잠금 (멤버십 행 FOR UPDATE, 상담방 행은 잠그지 않음)
+    // 같은 내담자의 저장이 직렬화되어 동시 제출/재시도 시 이전 값 기준 병합과 집계가 어긋나지 않고,
+    // 항상 존재하는 행만 잠그므로 없는 카드 키에 대한 갭 잠금 교착이 생기지 않는다
+    // 같은 문장에서 그 날짜의 기존 카드도 잠그고 읽으므로, 내용이 같은 재시도는 이 한 문장으로 끝난다
+    private DBTCard lockCardAsClient(User user, String roomId, LocalDate date) {
+        checkClientMembership(user, roomId);
+        List<DBTCard> locked = dbtCardRepository.lockMembershipWithCard(roomId, user.getUserId(), date);
+        if (locked.isEmpty()) {
+            throw membershipFailure(roomId);
+        }
+        return locked.get(0);
+    }
+
+    // 여러 날짜 저장용 (기존 카드는 IN 조회 한 번으로 따로 읽음)
+    private Room lockMembershipAsClient(User user, String roomId) {
+        checkClientMembership(user, roomId);
+        if (roomRepository.lockForMemberWrite(roomId, user.getUserId()).isEmpty()) {
+            throw membershipFailure(roomId);
+        }
+        return roomRepository.getReferenceById(roomId);
+    }
+
+    private void checkClientMembership(User user, String roomId) {
+        if (user.getUserType() != User.UserType.client) {
+            throw new BusinessException(ErrorCode.FORBIDDEN);
+        }
+        if (!membershipIndex.isMember(roomId, user.getUserId())) {
+            throw membershipFailure(roomId);
+        }
+    }
+
+    // 실패 시에만 없는 상담방인지 다시 확인
+    private BusinessException membershipFailure(String roomId) {
+        return new BusinessException(roomRepository.existsById(roomId) ? ErrorCode.FORBIDDEN : ErrorCode.ROOM_NOT_FOUND);
+    }
+
+    // 내용이 바뀐 경우에만 상담방 버전을 올림 (상담방 행 배타 잠금은 여기서부터 커밋까지 유지)
+    // 잠금 순서: 멤버십 행 → 상담방 행 → 순번 행 → 사용자 행 (카드 INSERT의 외래 키 확인)
+    // 멤버십 잠금을 기다리는 동안 상담방이 삭제되었으면 갱신되는 행이 없으므로 여기서 중단
+    private void bumpRoomVersion(String roomId) {
+        if (!roomVersionRegistry.bump(roomId)) {
+            throw new BusinessException(ErrorCode.ROOM_NOT_FOUND);
+        }
+    }
+
+    // upsert로만 저장하므로 기존 카드는 영속성 컨텍스트에서 분리 (변경 감지로 UPDATE가 한 번 더 나가지 않도록)
+    private DBTCard prepareForUpsert(DBTCard existing, Room room, User user, LocalDate date) {
+        LocalDateTime now = LocalDateTime.now();
+        if (existing != null) {
+            entityManager.detach(existing);
+            existing.setUpdatedAt(now);
+            return existing;
+        }
+        return DBTCard.builder()
+                .cardId(UUID.randomUUID().toString())
+                .room(room)
+                .client(userRepository.getReferenceById(user.getUserId()))
+                .date(date)
+                .submittedAt(now)
+                .updatedAt(now)
+                .version(0L)
+                .build();
+    }
+
+    // 저장 시 예외가 나는 값 확인 (문제가 없으면 null)
+    private String validateValues(DBTCardRequest request) {
+        if (request.getHeader() != null && !isYesNo(request.getHeader().getWrittenDuringCounseling())) {
+            return "writtenDuringCounseling은 yes 또는 no여야 합니다.";
+        }
+        if (request.getDayData() != null && !isYesNo(request.getDayData().getMedication())) {
+            return "medication은 yes 또는 no여야 합니다.";
+        }
+        return null;
+    }
+
+    private boolean isYesNo(String value) {
+        return value == null || DBTCard.YesNo.yes.name().equals(value) || DBTCard.YesNo.no.name().equals(value);
+    }
+
+    private DBTCardBatchResponse.DayResult invalidResult(String date, String message) {
+        return DBTCardBatchResponse.DayResult.builder()
+                .date(date)
+                .status(DBTCardBatchResponse.DayResult.INVALID)
+                .message(message)
+                .build();
+    }
+
+    // 요청의 header/dayData를 카드에 반영
+    private void applyRequest(DBTCard card, DBTCardRequest request) {
         // Header 정보 설정
         if (request.getHeader() != null) {
             DBTCardRequest.HeaderInfo header = request.getHeader();
@@ -118,17 +441,140 @@ public class DBTCardService {
             card.setSadness(dayData.getSadness());
             card.setSadnessKeyword(dayData.getSadnessKeyword());
         }
+    }
 
-        dbtCardRepository.save(card);
+    // 멤버십 인덱스만으로 권한을 확인할 수 있으면 현재 버전의 ETag 반환 (확인할 수 없으면 null)
+    public String getMyCardsETag(String roomId) {
+        User user = currentUserProvider.getCurrentUser();
+        if (user.getUserType() != User.UserType.client || !membershipIndex.isMember(roomId, user.getUserId())) {
+            return null;
+        }
+        // 같은 URL이라도 내담자마다 응답이 다르므로 사용자별로 구분
+        return roomVersionRegistry.etag(roomId, user.getUserId());
+    }
 
-        return toResponse(card);
+    public String getCardsETag(String roomId) {
+        User user = currentUserProvider.getCurrentUser();
+        // 상담사는 자신이 만든 상담방에만 멤버로 등록됨
+        if (user.getUserType() != User.UserType.counselor || !membershipIndex.isMember(roomId, user.getUserId())) {
+            return null;
+        }
+        return roomVersionRegistry.etag(roomId);
+    }
+
+    public CursorPage<DBTCardResponse> getMyCards(String roomId, String dateStr, String fromStr, String toStr,
+                                                 String cursor, Integer size) {
+        User user = currentUserProvider.getCurrentUser();
+        Room room = findRoomAsClient(user, roomId);
+
+        DateRange range = resolveDateRange(dateStr, fromStr, toStr);
+        return findCardPage(room, user.getUserId(), range, cursor, size, this::toResponse);
+    }
+
+    public CursorPage<DBTCardSummary> getMyCardSummaries(String roomId, String dateStr, String fromStr, String toStr,
+                                                        String cursor, Integer size) {
+        User user = currentUserProvider.getCurrentUser();
+        Room room = findRoomAsClient(user, roomId);
+
+        DateRange range = resolveDateRange(dateStr, fromStr, toStr);
+        return findSummaryPage(room, user.getUserId(), range, cursor, size);
+    }
+
+    public CursorPage<DBTCardResponse> getCards(String roomId, String dateStr, String fromStr, String toStr,
+                                               String clientId, String cursor, Integer size) {
+        User user = currentUserProvider.getCurrentUser();
+        Room room = findRoomAsCounselor(user, roomId);
+
+        DateRange range = resolveDateRange(dateStr, fromStr, toStr);
+        return findCardPage(room, resolveClientFilter(clientId), range, cursor, size, this::toResponseWithClientInfo);
+    }
+
+    public CursorPage<DBTCardSummary> getCardSummaries(String roomId, String dateStr, String fromStr, String toStr,
+                                                      String clientId, String cursor, Integer size) {
+        User user = currentUserProvider.getCurrentUser();
+        Room room = findRoomAsCounselor(user, roomId);
+
+        DateRange range = resolveDateRange(dateStr, fromStr, toStr);
+        return findSummaryPage(room, resolveClientFilter(clientId), range, cursor, size);
+    }
+
+    // 카드 본문/감정 키워드 검색 (점수순, 내담자는 자신의 카드만, 상담사는 clientId로 내담자 한 명 지정 가능)
+    // 상담방 색인이 없으면 이 트랜잭션에서 상담방 카드를 한 번 읽어 만들고, 뒤처졌으면 그 사이 수정된 카드만 읽는다
+    @Transactional(readOnly = true)
+    public CursorPage<CardSearchHit> searchCards(String roomId, String query, String clientId, String cursor, Integer size) {
+        User user = currentUserProvider.getCurrentUser();
+        Room room;
+        String clientFilter;
+        if (user.getUserType() == User.UserType.client) {
+            room = findRoomAsClient(user, roomId);
+            if (clientId != null && !clientId.isEmpty() && !clientId.equals(user.getUserId())) {
+                throw new BusinessException(ErrorCode.FORBIDDEN);
+            }
+            clientFilter = user.getUserId();
+        } else {
+            room = findRoomAsCounselor(user, roomId);
+            clientFilter = resolveClientFilter(clientId);
+        }
+
+        if (query == null || query.isBlank()) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR, "검색어를 입력하세요.");
+        }
+        if (query.length() > cardSearchProperties.getMaxQueryLength()) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR,
+                    "검색어는 " + cardSearchProperties.getMaxQueryLength() + "자 이하여야 합니다.");
+        }
+        int[] terms = CardSearchIndex.queryTerms(query);
+        if (terms.length == 0) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR, "검색어에 글자나 숫자가 포함되어야 합니다.");
+        }
+
+        // 커서는 다음 페이지의 시작 위치
+        String[] after = CursorCodec.decode(cursor, 1);
+        int offset = after != null ? parseCursorOffset(after[0]) : 0;
+        int pageSize = paginationProperties.resolveSize(size);
+
+        // 상담방 버전은 권한 확인에서 읽은 행의 값 (다른 인스턴스의 저장도 이 버전을 올림)
+        List<CardSearchIndex.Hit> hits = cardSearchIndex.search(roomId, terms, clientFilter, offset, pageSize + 1,
+                room.getVersion(),
+                () -> dbtCardRepository.streamByRoom(roomId, null, null, null).map(this::detachedDocument),
+                since -> dbtCardRepository.findUpdatedInRoomSince(roomId, since).stream().map(this::detachedDocument));
+        return CursorPage.of(hits, pageSize,
+                hit -> CardSearchHit.builder()
+                        .cardId(hit.cardId())
+                        .clientId(hit.clientId())
+                        .date(hit.date())
+                        .score(hit.score())
+                        .fields(hit.fields())
+                        .build(),
+                hit -> CursorCodec.encode(String.valueOf(offset + pageSize)));
+    }
+
+    // 색인용 문서로 변환하고 영속성 컨텍스트에서 분리 (상담방 카드를 한 행씩 읽을 때 메모리 유지)
+    private CardSearchIndex.Document detachedDocument(DBTCard card) {
+        CardSearchIndex.Document document = CardSearchIndex.documentOf(card);
+        entityManager.detach(card);
+        return document;
     }
 
-    public List<DBTCardResponse> getMyCards(String roomId, String dateStr) {
-        String userId = SecurityUtil.getCurrentUserId();
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
+    // 카드 단건 조회 (본문 포함), 내담자는 자신의 카드만, 상담사는 자신이 만든 상담방의 카드만 조회
+    public DBTCardResponse getCard(String roomId, String cardId) {
+        User user = currentUserProvider.getCurrentUser();
+
+        if (user.getUserType() == User.UserType.client) {
+            findRoomAsClient(user, roomId);
+            DBTCard card = dbtCardRepository.findInRoom(cardId, roomId)
+                    .filter(found -> found.getClient().getUserId().equals(user.getUserId()))
+                    .orElseThrow(() -> new BusinessException(ErrorCode.DBT_CARD_NOT_FOUND));
+            return toResponse(card);
+        }
 
+        findRoomAsCounselor(user, roomId);
+        DBTCard card = dbtCardRepository.findInRoom(cardId, roomId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.DBT_CARD_NOT_FOUND));
+        return toResponseWithClientInfo(card);
+    }
+
+    private Room findRoomAsClient(User user, String roomId) {
         if (user.getUserType() != User.UserType.client) {
             throw new BusinessException(ErrorCode.FORBIDDEN);
         }
@@ -136,33 +582,13 @@ public class DBTCardService {
         Room room = roomRepository.findById(roomId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.ROOM_NOT_FOUND));
 
-        if (!roomMemberRepository.existsByRoomAndUser(room, user)) {
+        if (!membershipIndex.isMember(roomId, user.getUserId())) {
             throw new BusinessException(ErrorCode.FORBIDDEN);
         }
-
-        List<DBTCard> cards;
-        if (dateStr != null && !dateStr.isEmpty()) {
-            LocalDate date;
-            try {
-                date = LocalDate.parse(dateStr);
-            } catch (Exception e) {
-                throw new BusinessException(ErrorCode.VALIDATION_ERROR, "날짜 형식이 올바르지 않습니다. YYYY-MM-DD 형식을 사용하세요.");
-            }
-            cards = dbtCardRepository.findByRoomAndClientAndDate(room, user, date)
-                    .map(List::of)
-                    .orElse(List.of());
-        } else {
-            cards = dbtCardRepository.findByRoomAndClient(room, user);
-        }
-
-        return cards.stream().map(this::toResponse).collect(Collectors.toList());
+        return room;
     }
 
-    public List<DBTCardResponse> getCards(String roomId, String dateStr, String clientId) {
-        String userId = SecurityUtil.getCurrentUserId();
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
-
+    private Room findRoomAsCounselor(User user, String roomId) {
         if (user.getUserType() != User.UserType.counselor) {
             throw new BusinessException(ErrorCode.FORBIDDEN);
         }
@@ -170,45 +596,147 @@ public class DBTCardService {
         Room room = roomRepository.findById(roomId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.ROOM_NOT_FOUND));
 
-        if (!room.getCreatedBy().getUserId().equals(userId)) {
+        if (!room.getCreatedBy().getUserId().equals(user.getUserId())) {
             throw new BusinessException(ErrorCode.FORBIDDEN);
         }
+        return room;
+    }
+
+    // 빈 값이면 전체 내담자 (null)
+    private String resolveClientFilter(String clientId) {
+        if (clientId == null || clientId.isEmpty()) {
+            return null;
+        }
+        if (!userRepository.existsById(clientId)) {
+            throw new BusinessException(ErrorCode.CLIENT_NOT_FOUND);
+        }
+        return clientId;
+    }
+
+    // 내보내기 권한/조건 확인 후 동시 실행 수 확보 (스트리밍 시작 전 요청 스레드에서 호출)
+    // clientId가 없으면 상담방 전체, from/to가 없으면 전체 기간
+    public CardExport prepareExport(String roomId, String format, String clientId, String fromStr, String toStr) {
+        CardExportFormat exportFormat = CardExportFormat.fromValue(format);
+        if (exportFormat == null) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR, "지원하지 않는 내보내기 형식입니다: " + format);
+        }
 
-        List<DBTCard> cards;
-        if (clientId != null && !clientId.isEmpty()) {
-            User client = userRepository.findById(clientId)
-                    .orElseThrow(() -> new BusinessException(ErrorCode.CLIENT_NOT_FOUND));
-            if (dateStr != null && !dateStr.isEmpty()) {
-                LocalDate date;
-                try {
-                    date = LocalDate.parse(dateStr);
-                } catch (Exception e) {
-                    throw new BusinessException(ErrorCode.VALIDATION_ERROR, "날짜 형식이 올바르지 않습니다. YYYY-MM-DD 형식을 사용하세요.");
+        findRoomAsCounselor(currentUserProvider.getCurrentUser(), roomId);
+        String clientFilter = resolveClientFilter(clientId);
+        DateRange range = resolveDateRange(null, fromStr, toStr);
+
+        if (!exportPermits.tryAcquire()) {
+            throw new BusinessException(ErrorCode.TOO_MANY_REQUESTS, "진행 중인 내보내기가 많습니다. 잠시 후 다시 시도해주세요.");
+        }
+        return new CardExport(roomId, clientFilter, range.from(), range.to(), exportFormat, exportPermits);
+    }
+
+    // 조건에 맞는 카드를 요청한 형식으로 한 행씩 기록
+    // 목록을 만들지 않고 한 행씩 읽어 쓰고 영속성 컨텍스트에서 분리하므로 카드 수와 무관하게 메모리 사용이 일정
+    @Transactional(readOnly = true)
+    public void writeExport(CardExport export, OutputStream out) throws IOException {
+        try (Stream<DBTCard> cards = dbtCardRepository.streamByRoom(
+                     export.getRoomId(), export.getClientId(), export.getFrom(), export.getTo());
+             CardExportWriter writer = CardExportWriter.open(export.getFormat(), out, exportJsonWriter,
+                     this::toResponseWithClientInfo, exportProperties.getXlsxRowWindow())) {
+            long written = 0;
+            Iterator<DBTCard> iterator = cards.iterator();
+            while (iterator.hasNext()) {
+                DBTCard card = iterator.next();
+                writer.write(card);
+                entityManager.detach(card);
+
+                // 첫 행은 바로 보내고 이후에는 일정 행마다 전송
+                if (++written == 1 || written % EXPORT_FLUSH_INTERVAL == 0) {
+                    writer.flush();
                 }
-                cards = dbtCardRepository.findByRoomAndClientAndDate(room, client, date)
-                        .map(List::of)
-                        .orElse(List.of());
-            } else {
-                cards = dbtCardRepository.findByRoomAndClient(room, client);
             }
-        } else {
-            if (dateStr != null && !dateStr.isEmpty()) {
-                LocalDate date;
-                try {
-                    date = LocalDate.parse(dateStr);
-                } catch (Exception e) {
-                    throw new BusinessException(ErrorCode.VALIDATION_ERROR, "날짜 형식이 올바르지 않습니다. YYYY-MM-DD 형식을 사용하세요.");
-                }
-                cards = dbtCardRepository.findByRoomAndDate(room, date);
-            } else {
-                cards = dbtCardRepository.findByRoom(room);
+            writer.finish();
+        }
+    }
+
+    // (date, cardId) 기준 키셋 페이지 조회
+    private CursorPage<DBTCardResponse> findCardPage(Room room, String clientId, DateRange range, String cursor, Integer size,
+                                                     Function<DBTCard, DBTCardResponse> mapper) {
+        String[] after = CursorCodec.decode(cursor, 2);
+        LocalDate afterDate = after != null ? parseCursorDate(after[0]) : null;
+        String afterCardId = after != null ? after[1] : null;
+        int pageSize = paginationProperties.resolveSize(size);
+
+        List<DBTCard> cards = dbtCardRepository.findPage(room, clientId, range.from(), range.to(), afterDate, afterCardId,
+                PageRequest.of(0, pageSize + 1));
+
+        return CursorPage.of(cards, pageSize, mapper,
+                card -> CursorCodec.encode(card.getDate().toString(), card.getCardId()));
+    }
+
+    // date는 from = to = date와 같음, 값이 없으면 해당 방향으로 제한 없음
+    private DateRange resolveDateRange(String dateStr, String fromStr, String toStr) {
+        LocalDate date = parseDate(dateStr);
+        LocalDate from = parseDate(fromStr);
+        LocalDate to = parseDate(toStr);
+
+        if (date != null) {
+            if (from != null || to != null) {
+                throw new BusinessException(ErrorCode.VALIDATION_ERROR, "date와 from/to는 함께 사용할 수 없습니다.");
             }
+            return new DateRange(date, date);
+        }
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR, "from은 to보다 이후일 수 없습니다.");
+        }
+        return new DateRange(from, to);
+    }
+
+    private record DateRange(LocalDate from, LocalDate to) {
+    }
+
+    private CursorPage<DBTCardSummary> findSummaryPage(Room room, String clientId, DateRange range, String cursor, Integer size) {
+        String[] after = CursorCodec.decode(cursor, 2);
+        LocalDate afterDate = after != null ? parseCursorDate(after[0]) : null;
+        String afterCardId = after != null ? after[1] : null;
+        int pageSize = paginationProperties.resolveSize(size);
+
+        List<DBTCardSummary> summaries = dbtCardRepository.findSummaryPage(room, clientId, range.from(), range.to(),
+                afterDate, afterCardId, PageRequest.of(0, pageSize + 1));
+
+        return CursorPage.of(summaries, pageSize, Function.identity(),
+                summary -> CursorCodec.encode(summary.getDate().toString(), summary.getCardId()));
+    }
+
+    private LocalDate parseDate(String dateStr) {
+        if (dateStr == null || dateStr.isEmpty()) {
+            return null;
         }
+        try {
+            return LocalDate.parse(dateStr);
+        } catch (Exception e) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR, "날짜 형식이 올바르지 않습니다. YYYY-MM-DD 형식을 사용하세요.");
+        }
+    }
+
+    private LocalDate parseCursorDate(String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (Exception e) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR, "올바르지 않은 커서입니다.");
+        }
+    }
 
-        return cards.stream().map(this::toResponseWithClientInfo).collect(Collectors.toList());
+    private int parseCursorOffset(String value) {
+        try {
+            int offset = Integer.parseInt(value);
+            if (offset < 0) {
+                throw new NumberFormatException(value);
+            }
+            return offset;
+        } catch (NumberFormatException e) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR, "올바르지 않은 커서입니다.");
+        }
     }
 
-    private DBTCardResponse toResponse(DBTCard card) {
+    // JMH 벤치마크(src/jmh)에서 호출하므로 패키지 범위
+    DBTCardResponse toResponse(DBTCard card) {
         DBTCardRequest.HeaderInfo header = null;
         if (card.getHeaderName() != null || card.getHeaderWrittenDuringCounseling() != null || card.getHeaderFrequency() != null) {
             header = new DBTCardRequest.HeaderInfo();
@@ -261,10 +789,11 @@ public class DBTCardService {
                 .header(header)
                 .dayData(dayData)
                 .submittedAt(card.getSubmittedAt())
+                .version(card.getVersion())
                 .build();
     }
 
-    private DBTCardResponse toResponseWithClientInfo(DBTCard card) {
+    DBTCardResponse toResponseWithClientInfo(DBTCard card) {
         DBTCardResponse response = toResponse(card);
         response.setClientName(card.getClient().getName());
         response.setClientEmail(card.getClient().getEmail());
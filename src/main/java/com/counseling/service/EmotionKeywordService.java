@@ -0,0 +1,196 @@
+package com.counseling.service;
+
+import com.counseling.config.EmotionKeywordProperties;
+import com.counseling.entity.DBTCard;
+import com.counseling.entity.EmotionKeywordCount;
+import com.counseling.entity.EmotionRollup;
+import com.counseling.repository.DBTCardRepository;
+import com.counseling.repository.EmotionKeywordCountRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// 감정별 키워드 횟수 관리
+// 카드 저장과 같은 트랜잭션에서 내담자별 주 단위 횟수에 이전/새 키워드의 차이만 반영하므로
+// 조회는 기간 내 (주 × 키워드) 행만 합산하고 카드를 다시 읽지 않는다 (재시작/다른 인스턴스와 무관)
+// 카드 전체를 읽는 것은 명시적인 재생성뿐이다
+@Service
+public class EmotionKeywordService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmotionKeywordService.class);
+
+    // 키워드 구분자 (쉼표, 세미콜론, 슬래시, 줄바꿈, 가운뎃점)
+    private static final Pattern SEPARATORS = Pattern.compile("[,;/\\n\\r·、]+");
+    private static final int MAX_KEYWORD_LENGTH = 50;
+
+    // 행 잠금 순서를 고정하기 위한 정렬 (내담자 → 감정 → 주 → 키워드)
+    private static final Comparator<Bucket> BUCKET_ORDER = Comparator.comparing(Bucket::clientId)
+            .thenComparing(Bucket::emotion)
+            .thenComparing(Bucket::week)
+            .thenComparing(Bucket::keyword);
+
+    private final EmotionKeywordCountRepository keywordCountRepository;
+    private final DBTCardRepository dbtCardRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final EmotionKeywordProperties properties;
+
+    public EmotionKeywordService(EmotionKeywordCountRepository keywordCountRepository, DBTCardRepository dbtCardRepository,
+                                 EntityManager entityManager, PlatformTransactionManager transactionManager,
+                                 EmotionKeywordProperties properties) {
+        this.keywordCountRepository = keywordCountRepository;
+        this.dbtCardRepository = dbtCardRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+    }
+
+    // 카드 하나의 감정별 키워드
+    public record CardKeywords(String clientId, LocalDate date, Map<EmotionKeywordCount.Emotion, List<String>> keywords) {
+    }
+
+    public record KeywordCount(String keyword, long count) {
+    }
+
+    private record Bucket(String clientId, EmotionKeywordCount.Emotion emotion, LocalDate week, String keyword) {
+    }
+
+    // 카드의 감정별 키워드 (새 카드면 null)
+    public static CardKeywords keywordsOf(DBTCard card) {
+        if (card == null) {
+            return null;
+        }
+        Map<EmotionKeywordCount.Emotion, List<String>> keywords = new EnumMap<>(EmotionKeywordCount.Emotion.class);
+        for (EmotionKeywordCount.Emotion emotion : EmotionKeywordCount.Emotion.values()) {
+            List<String> parsed = parse(emotion.read(card));
+            if (!parsed.isEmpty()) {
+                keywords.put(emotion, parsed);
+            }
+        }
+        return new CardKeywords(card.getClient().getUserId(), card.getDate(), keywords);
+    }
+
+    // 자유 입력을 키워드 목록으로 (공백 정리, 소문자, 한 카드 안의 중복 제거)
+    static List<String> parse(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        Set<String> keywords = new LinkedHashSet<>();
+        for (String part : SEPARATORS.split(Normalizer.normalize(text, Normalizer.Form.NFKC))) {
+            String keyword = part.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+            if (!keyword.isEmpty()) {
+                keywords.add(keyword.length() > MAX_KEYWORD_LENGTH ? keyword.substring(0, MAX_KEYWORD_LENGTH) : keyword);
+            }
+        }
+        return new ArrayList<>(keywords);
+    }
+
+    // 카드 저장 전후 키워드의 차이를 주별 횟수에 반영 (카드 저장과 같은 트랜잭션에서 호출)
+    // 행은 내담자별이므로 같은 내담자의 저장끼리만 잠금이 겹치고, 그 저장은 이미 멤버십 잠금으로 직렬화되어 있다
+    @Transactional
+    public void apply(String roomId, CardKeywords before, CardKeywords after) {
+        if (before != null && Objects.equals(before, after)) {
+            return;
+        }
+        Map<Bucket, Long> deltas = new TreeMap<>(BUCKET_ORDER);
+        LocalDate oldestWeek = oldestWeek();
+        add(deltas, before, -1, oldestWeek);
+        add(deltas, after, 1, oldestWeek);
+        for (Map.Entry<Bucket, Long> delta : deltas.entrySet()) {
+            if (delta.getValue() != 0) {
+                addCount(roomId, delta.getKey(), delta.getValue());
+            }
+        }
+    }
+
+    // 기간(주 시작일 기준 양 끝 포함)의 상위 limit개 키워드, clientId가 null이면 상담방 전체
+    @Transactional(readOnly = true)
+    public List<KeywordCount> top(String roomId, String clientId, EmotionKeywordCount.Emotion emotion,
+                                  LocalDate fromWeek, LocalDate toWeek, int limit) {
+        List<KeywordCount> counts = new ArrayList<>();
+        for (Object[] row : keywordCountRepository.findTop(roomId, clientId, emotion.name(), fromWeek, toWeek, limit)) {
+            counts.add(new KeywordCount((String) row[0], ((Number) row[1]).longValue()));
+        }
+        return counts;
+    }
+
+    // 상담방 키워드 횟수를 보관 기간의 카드에서 다시 생성
+    // 먼저 지운 행(과 그 범위)의 잠금을 커밋까지 유지하므로, 도중에 저장된 카드의 증분은 재생성 뒤에 반영된다
+    @Transactional
+    public void rebuild(String roomId) {
+        long start = System.currentTimeMillis();
+        keywordCountRepository.deleteByRoomId(roomId);
+
+        LocalDate oldestWeek = oldestWeek();
+        Map<Bucket, Long> counts = new TreeMap<>(BUCKET_ORDER);
+        int cards = 0;
+        try (Stream<DBTCard> stream = dbtCardRepository.streamByRoom(roomId, null, oldestWeek, null)) {
+            for (DBTCard card : (Iterable<DBTCard>) stream::iterator) {
+                add(counts, keywordsOf(card), 1, oldestWeek);
+                entityManager.detach(card);
+                cards++;
+            }
+        }
+        counts.forEach((bucket, count) -> addCount(roomId, bucket, count));
+        logger.info("감정 키워드 재생성: roomId={}, 카드 {}건, {}행, {}ms", roomId, cards, counts.size(),
+                System.currentTimeMillis() - start);
+    }
+
+    // 보관 기간이 지난 주의 행 정리
+    @Scheduled(fixedDelayString = "${emotion-keywords.sweep-interval:3600000}")
+    public void sweep() {
+        LocalDate oldestWeek = oldestWeek();
+        int batchSize = properties.getSweepBatchSize();
+        while (true) {
+            Integer deleted = transactionTemplate.execute(status ->
+                    keywordCountRepository.deleteBatchBefore(oldestWeek, batchSize));
+            if (deleted == null || deleted < batchSize) {
+                return;
+            }
+        }
+    }
+
+    private LocalDate oldestWeek() {
+        return EmotionRollup.PeriodType.WEEK.startOf(LocalDate.now()).minusWeeks(properties.getRetentionWeeks() - 1L);
+    }
+
+    private void addCount(String roomId, Bucket bucket, long delta) {
+        keywordCountRepository.addCount(roomId, bucket.clientId(), bucket.emotion().name(), bucket.week(),
+                bucket.keyword(), delta);
+    }
+
+    private static void add(Map<Bucket, Long> deltas, CardKeywords card, int sign, LocalDate oldestWeek) {
+        if (card == null) {
+            return;
+        }
+        LocalDate week = EmotionRollup.PeriodType.WEEK.startOf(card.date());
+        if (week.isBefore(oldestWeek)) {
+            return;
+        }
+        for (Map.Entry<EmotionKeywordCount.Emotion, List<String>> entry : card.keywords().entrySet()) {
+            for (String keyword : entry.getValue()) {
+                deltas.merge(new Bucket(card.clientId(), entry.getKey(), week, keyword), (long) sign, Long::sum);
+            }
+        }
+    }
+}
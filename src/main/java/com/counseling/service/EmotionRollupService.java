@@ -0,0 +1,360 @@
+package com.counseling.service;
+
+import com.counseling.config.EmotionKeywordProperties;
+import com.counseling.dto.EmotionKeywordResponse;
+import com.counseling.dto.EmotionTrendResponse;
+import com.counseling.entity.DBTCard;
+import com.counseling.entity.EmotionKeywordCount;
+import com.counseling.entity.EmotionRollup;
+import com.counseling.entity.Room;
+import com.counseling.entity.User;
+import com.counseling.exception.BusinessException;
+import com.counseling.exception.ErrorCode;
+import com.counseling.repository.DBTCardRepository;
+import com.counseling.repository.EmotionRollupRepository;
+import com.counseling.repository.RoomRepository;
+import com.counseling.security.CurrentUserProvider;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// 감정·충동·행동 강도의 주/월 집계 관리
+// 카드 저장 시 이전 값과 새 값의 차이만 반영하므로 추이 조회는 원본 카드 대신 기간 수만큼의 행만 읽는다
+@Service
+public class EmotionRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmotionRollupService.class);
+    private static final int DEFAULT_TREND_PERIODS = 12;
+    private static final int DEFAULT_KEYWORD_WEEKS = 4;
+    private static final int DEFAULT_KEYWORD_LIMIT = 10;
+
+    private final EmotionRollupRepository rollupRepository;
+    private final DBTCardRepository dbtCardRepository;
+    private final RoomRepository roomRepository;
+    private final CurrentUserProvider currentUserProvider;
+    private final RoomMembershipIndex membershipIndex;
+    private final EmotionKeywordService emotionKeywordService;
+    private final EmotionKeywordProperties emotionKeywordProperties;
+    private final EntityManager entityManager;
+
+    public EmotionRollupService(EmotionRollupRepository rollupRepository, DBTCardRepository dbtCardRepository,
+                                RoomRepository roomRepository, CurrentUserProvider currentUserProvider,
+                                RoomMembershipIndex membershipIndex, EmotionKeywordService emotionKeywordService,
+                                EmotionKeywordProperties emotionKeywordProperties, EntityManager entityManager) {
+        this.rollupRepository = rollupRepository;
+        this.dbtCardRepository = dbtCardRepository;
+        this.roomRepository = roomRepository;
+        this.currentUserProvider = currentUserProvider;
+        this.membershipIndex = membershipIndex;
+        this.emotionKeywordService = emotionKeywordService;
+        this.emotionKeywordProperties = emotionKeywordProperties;
+        this.entityManager = entityManager;
+    }
+
+    // 카드의 현재 집계 대상 값 (새 카드면 빈 값)
+    public Map<EmotionRollup.Metric, Integer> snapshot(DBTCard card) {
+        Map<EmotionRollup.Metric, Integer> values = new EnumMap<>(EmotionRollup.Metric.class);
+        if (card != null) {
+            for (EmotionRollup.Metric metric : EmotionRollup.Metric.values()) {
+                Integer value = metric.read(card);
+                if (value != null) {
+                    values.put(metric, value);
+                }
+            }
+        }
+        return values;
+    }
+
+    // 카드 저장 전후 값의 차이를 해당 주/월 집계에 반영 (카드 저장과 같은 트랜잭션에서 호출)
+    @Transactional
+    public void apply(String roomId, String clientId, LocalDate date,
+                      Map<EmotionRollup.Metric, Integer> before, Map<EmotionRollup.Metric, Integer> after) {
+        EnumSet<EmotionRollup.Metric> changed = EnumSet.noneOf(EmotionRollup.Metric.class);
+        for (EmotionRollup.Metric metric : EmotionRollup.Metric.values()) {
+            if (!Objects.equals(before.get(metric), after.get(metric))) {
+                changed.add(metric);
+            }
+        }
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        // 교착을 피하기 위해 항상 주 → 월 순서로 잠금
+        for (EmotionRollup.PeriodType periodType : EmotionRollup.PeriodType.values()) {
+            LocalDate periodStart = periodType.startOf(date);
+            Map<EmotionRollup.Metric, EmotionRollup> rows = new EnumMap<>(EmotionRollup.Metric.class);
+            for (EmotionRollup row : rollupRepository.findBucketForUpdate(roomId, clientId, periodType, periodStart)) {
+                rows.put(row.getMetric(), row);
+            }
+
+            EnumSet<EmotionRollup.Metric> recompute = EnumSet.noneOf(EmotionRollup.Metric.class);
+            for (EmotionRollup.Metric metric : changed) {
+                Integer oldValue = before.get(metric);
+                Integer newValue = after.get(metric);
+                EmotionRollup row = rows.get(metric);
+                if (row == null) {
+                    if (newValue == null) {
+                        continue;
+                    }
+                    row = EmotionRollup.builder()
+                            .roomId(roomId)
+                            .clientId(clientId)
+                            .periodType(periodType)
+                            .periodStart(periodStart)
+                            .metric(metric)
+                            .build();
+                    rollupRepository.save(row);
+                    rows.put(metric, row);
+                    oldValue = null;
+                }
+
+                if (oldValue != null) {
+                    row.setCount(row.getCount() - 1);
+                    row.setSum(row.getSum() - oldValue);
+                    // 빠진 값이 최솟값/최댓값이었다면 남은 카드로 다시 계산해야 함
+                    if (oldValue.equals(row.getMinValue()) || oldValue.equals(row.getMaxValue())) {
+                        recompute.add(metric);
+                    }
+                }
+                if (newValue != null) {
+                    row.setCount(row.getCount() + 1);
+                    row.setSum(row.getSum() + newValue);
+                    if (!recompute.contains(metric)) {
+                        row.setMinValue(row.getMinValue() == null ? newValue : Math.min(row.getMinValue(), newValue));
+                        row.setMaxValue(row.getMaxValue() == null ? newValue : Math.max(row.getMaxValue(), newValue));
+                    }
+                }
+                if (row.getCount() <= 0) {
+                    row.setCount(0);
+                    row.setSum(0);
+                    row.setMinValue(null);
+                    row.setMaxValue(null);
+                    recompute.remove(metric);
+                }
+            }
+
+            if (!recompute.isEmpty()) {
+                recomputeMinMax(roomId, clientId, periodType, periodStart, rows, recompute);
+            }
+        }
+    }
+
+    // 한 기간(최대 31일)의 카드로 최솟값/최댓값 재계산
+    // 방금 저장한 카드는 같은 트랜잭션·연결에서 JDBC upsert로 이미 쓰였으므로 이 조회에 포함된다
+    // (저장 전에 영속성 컨텍스트에서 분리되므로 이전 값의 엔티티가 결과를 가리지 않음)
+    private void recomputeMinMax(String roomId, String clientId, EmotionRollup.PeriodType periodType, LocalDate periodStart,
+                                 Map<EmotionRollup.Metric, EmotionRollup> rows, EnumSet<EmotionRollup.Metric> metrics) {
+        List<DBTCard> cards = dbtCardRepository.findForRollup(roomId, clientId, periodStart, periodType.endOf(periodStart));
+        for (EmotionRollup.Metric metric : metrics) {
+            Integer min = null;
+            Integer max = null;
+            for (DBTCard card : cards) {
+                Integer value = metric.read(card);
+                if (value != null) {
+                    min = min == null ? value : Math.min(min, value);
+                    max = max == null ? value : Math.max(max, value);
+                }
+            }
+            EmotionRollup row = rows.get(metric);
+            row.setMinValue(min);
+            row.setMaxValue(max);
+        }
+    }
+
+    public EmotionTrendResponse getTrends(String roomId, String clientId, String period, String fromStr, String toStr) {
+        User user = currentUserProvider.getCurrentUser();
+
+        Room room = roomRepository.findById(roomId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.ROOM_NOT_FOUND));
+
+        if (user.getUserType() == User.UserType.client) {
+            // 내담자는 자신의 추이만 조회
+            if (clientId != null && !clientId.isEmpty() && !clientId.equals(user.getUserId())) {
+                throw new BusinessException(ErrorCode.FORBIDDEN);
+            }
+            if (!membershipIndex.isMember(roomId, user.getUserId())) {
+                throw new BusinessException(ErrorCode.FORBIDDEN);
+            }
+            clientId = user.getUserId();
+        } else {
+            if (!room.getCreatedBy().getUserId().equals(user.getUserId())) {
+                throw new BusinessException(ErrorCode.FORBIDDEN);
+            }
+            if (clientId == null || clientId.isEmpty()) {
+                throw new BusinessException(ErrorCode.VALIDATION_ERROR, "clientId는 필수입니다.");
+            }
+        }
+
+        EmotionRollup.PeriodType periodType;
+        try {
+            periodType = EmotionRollup.PeriodType.fromValue(period != null ? period : "week");
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR, "period는 week 또는 month여야 합니다.");
+        }
+
+        // 기본 범위: 오늘이 속한 기간까지 최근 12개 기간
+        LocalDate to = periodType.startOf(toStr != null ? parseDate(toStr) : LocalDate.now());
+        LocalDate from = fromStr != null
+                ? periodType.startOf(parseDate(fromStr))
+                : (periodType == EmotionRollup.PeriodType.WEEK
+                        ? to.minusWeeks(DEFAULT_TREND_PERIODS - 1)
+                        : to.minusMonths(DEFAULT_TREND_PERIODS - 1));
+        if (from.isAfter(to)) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR, "from은 to보다 이후일 수 없습니다.");
+        }
+
+        Map<LocalDate, Map<String, EmotionTrendResponse.MetricStats>> byPeriod = new LinkedHashMap<>();
+        for (EmotionRollup row : rollupRepository.findTrend(roomId, clientId, periodType, from, to)) {
+            byPeriod.computeIfAbsent(row.getPeriodStart(), key -> new LinkedHashMap<>())
+                    .put(row.getMetric().name(), EmotionTrendResponse.MetricStats.builder()
+                            .count(row.getCount())
+                            .sum(row.getSum())
+                            .min(row.getMinValue())
+                            .max(row.getMaxValue())
+                            .average((double) row.getSum() / row.getCount())
+                            .build());
+        }
+
+        List<EmotionTrendResponse.PeriodStats> periods = new ArrayList<>(byPeriod.size());
+        byPeriod.forEach((periodStart, metrics) -> periods.add(EmotionTrendResponse.PeriodStats.builder()
+                .periodStart(periodStart)
+                .metrics(metrics)
+                .build()));
+
+        return EmotionTrendResponse.builder()
+                .roomId(roomId)
+                .clientId(clientId)
+                .period(periodType.name().toLowerCase())
+                .from(from)
+                .to(periodType.endOf(to))
+                .periods(periods)
+                .build();
+    }
+
+    // 감정 키워드 상위 K개 (최근 weeks주, 이번 주 포함)
+    // 내담자는 자신의 키워드만, 상담사는 clientId를 생략하면 상담방 전체
+    @Transactional(readOnly = true)
+    public EmotionKeywordResponse getTopKeywords(String roomId, String clientId, String emotion, Integer weeks, Integer limit) {
+        clientId = resolveKeywordClient(roomId, clientId);
+
+        EmotionKeywordCount.Emotion target;
+        try {
+            target = EmotionKeywordCount.Emotion.fromValue(emotion);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR, "emotion은 anger, fear, joy, anxiety, sadness 중 하나여야 합니다.");
+        }
+        int windowWeeks = weeks != null ? weeks : DEFAULT_KEYWORD_WEEKS;
+        if (windowWeeks < 1 || windowWeeks > emotionKeywordProperties.getRetentionWeeks()) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR,
+                    "weeks는 1 이상 " + emotionKeywordProperties.getRetentionWeeks() + " 이하여야 합니다.");
+        }
+        int topK = limit != null ? limit : DEFAULT_KEYWORD_LIMIT;
+        if (topK < 1 || topK > emotionKeywordProperties.getMaxLimit()) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR,
+                    "limit은 1 이상 " + emotionKeywordProperties.getMaxLimit() + " 이하여야 합니다.");
+        }
+
+        LocalDate toWeek = EmotionRollup.PeriodType.WEEK.startOf(LocalDate.now());
+        LocalDate fromWeek = toWeek.minusWeeks(windowWeeks - 1L);
+        List<EmotionKeywordResponse.KeywordCount> keywords = new ArrayList<>();
+        for (EmotionKeywordService.KeywordCount count : emotionKeywordService.top(roomId, clientId, target,
+                fromWeek, toWeek, topK)) {
+            keywords.add(EmotionKeywordResponse.KeywordCount.builder()
+                    .keyword(count.keyword())
+                    .count(count.count())
+                    .build());
+        }
+
+        return EmotionKeywordResponse.builder()
+                .roomId(roomId)
+                .clientId(clientId)
+                .emotion(target.getValue())
+                .from(fromWeek)
+                .to(EmotionRollup.PeriodType.WEEK.endOf(toWeek))
+                .keywords(keywords)
+                .build();
+    }
+
+    // 상담방 키워드 횟수를 카드에서 다시 생성 (상담사)
+    @Transactional
+    public void rebuildKeywords(String roomId) {
+        User user = currentUserProvider.getCurrentUser();
+        Room room = roomRepository.findById(roomId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.ROOM_NOT_FOUND));
+        if (user.getUserType() != User.UserType.counselor || !room.getCreatedBy().getUserId().equals(user.getUserId())) {
+            throw new BusinessException(ErrorCode.FORBIDDEN);
+        }
+        emotionKeywordService.rebuild(roomId);
+    }
+
+    private String resolveKeywordClient(String roomId, String clientId) {
+        User user = currentUserProvider.getCurrentUser();
+        Room room = roomRepository.findById(roomId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.ROOM_NOT_FOUND));
+
+        if (user.getUserType() == User.UserType.client) {
+            if (clientId != null && !clientId.isEmpty() && !clientId.equals(user.getUserId())) {
+                throw new BusinessException(ErrorCode.FORBIDDEN);
+            }
+            if (!membershipIndex.isMember(roomId, user.getUserId())) {
+                throw new BusinessException(ErrorCode.FORBIDDEN);
+            }
+            return user.getUserId();
+        }
+        if (!room.getCreatedBy().getUserId().equals(user.getUserId())) {
+            throw new BusinessException(ErrorCode.FORBIDDEN);
+        }
+        return clientId == null || clientId.isEmpty() ? null : clientId;
+    }
+
+    // 집계 테이블이 비어 있으면 기존 카드로 한 번 채움 (집계 도입 전 카드 반영)
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        if (rollupRepository.count() > 0 || dbtCardRepository.count() == 0) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        int inserted = 0;
+        for (EmotionRollup.PeriodType periodType : EmotionRollup.PeriodType.values()) {
+            String periodStart = periodType == EmotionRollup.PeriodType.WEEK
+                    ? "DATE_SUB(d.date, INTERVAL WEEKDAY(d.date) DAY)"
+                    : "DATE_SUB(d.date, INTERVAL DAYOFMONTH(d.date) - 1 DAY)";
+            for (EmotionRollup.Metric metric : EmotionRollup.Metric.values()) {
+                // 컬럼명/기간 식은 enum 상수에서만 오므로 그대로 조립해도 안전
+                String value = "CAST(TRIM(d." + metric.getColumn() + ") AS UNSIGNED)";
+                inserted += entityManager.createNativeQuery(
+                        "INSERT IGNORE INTO emotion_rollups " +
+                        "(room_id, client_id, period_type, period_start, metric, value_count, value_sum, min_value, max_value, updated_at) " +
+                        "SELECT d.room_id, d.client_id, '" + periodType.name() + "', " + periodStart + ", '" + metric.name() + "', " +
+                        "COUNT(*), SUM(" + value + "), MIN(" + value + "), MAX(" + value + "), NOW() " +
+                        "FROM dbt_cards d JOIN rooms r ON r.room_id = d.room_id AND r.deleted_at IS NULL " +
+                        "WHERE TRIM(d." + metric.getColumn() + ") REGEXP '^[0-9]{1,9}$' " +
+                        "GROUP BY d.room_id, d.client_id, " + periodStart)
+                        .executeUpdate();
+            }
+        }
+        logger.info("감정 집계 백필 완료: {}행, {}ms", inserted, System.currentTimeMillis() - start);
+    }
+
+    private LocalDate parseDate(String dateStr) {
+        try {
+            return LocalDate.parse(dateStr);
+        } catch (Exception e) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR, "날짜 형식이 올바르지 않습니다. YYYY-MM-DD 형식을 사용하세요.");
+        }
+    }
+}
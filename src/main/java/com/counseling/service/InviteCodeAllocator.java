@@ -0,0 +1,162 @@
+package com.counseling.service;
+
+import com.counseling.config.InviteCodeProperties;
+import com.counseling.entity.IdSequence;
+import com.counseling.repository.IdSequenceRepository;
+import com.counseling.repository.RoomRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+
+// 초대코드 발급기
+// DB에서 카운터 블록을 예약한 뒤, 카운터를 비밀 키 기반 순열(Feistel)로 섞어 6자리 코드로 변환한다
+// 순열은 전단사이므로 카운터가 겹치지 않는 한 코드도 겹치지 않아 코드마다 중복 조회가 필요 없다
+// 다만 이전 방식(무작위)으로 만든 코드와는 겹칠 수 있어, 블록을 예약할 때 한 번에 조회해 이미 쓰인 코드는 건너뛴다
+@Component
+public class InviteCodeAllocator {
+
+    private static final String SEQUENCE_NAME = "invite_code";
+    private static final String ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+    private static final int CODE_LENGTH = 6;
+    private static final long CODE_SPACE = pow(ALPHABET.length(), CODE_LENGTH); // 36^6
+    private static final int ROUNDS = 8;
+
+    private final IdSequenceRepository idSequenceRepository;
+    private final RoomRepository roomRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int blockSize;
+    private final int[] roundKeys;
+
+    private final Deque<String> codes = new ArrayDeque<>();
+
+    public InviteCodeAllocator(IdSequenceRepository idSequenceRepository, RoomRepository roomRepository,
+                               PlatformTransactionManager transactionManager,
+                               InviteCodeProperties properties) {
+        this.idSequenceRepository = idSequenceRepository;
+        this.roomRepository = roomRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.blockSize = properties.getBlockSize();
+        this.roundKeys = deriveRoundKeys(properties.getSecret());
+    }
+
+    public synchronized String nextCode() {
+        while (codes.isEmpty()) {
+            fillBlock();
+        }
+        return codes.poll();
+    }
+
+    // 블록의 코드를 만들고 이전 방식의 코드와 겹치는 것은 제외 (블록 전체가 겹치면 다음 블록을 예약)
+    private void fillBlock() {
+        long start = reserveBlock();
+        List<String> candidates = new ArrayList<>(blockSize);
+        for (long counter = start; counter < start + blockSize; counter++) {
+            candidates.add(encode(permute(counter)));
+        }
+        Set<String> taken = roomRepository.findExistingInviteCodes(candidates);
+        for (String code : candidates) {
+            if (!taken.contains(code)) {
+                codes.add(code);
+            }
+        }
+    }
+
+    // 별도 트랜잭션으로 블록을 예약하여 상담방 생성 트랜잭션과 잠금을 분리
+    private long reserveBlock() {
+        Long start;
+        try {
+            start = transactionTemplate.execute(status -> reserve());
+        } catch (DataIntegrityViolationException e) {
+            // 다른 노드가 시퀀스 행을 동시에 생성한 경우 한 번 더 시도
+            start = transactionTemplate.execute(status -> reserve());
+        }
+        if (start == null || start + blockSize > CODE_SPACE) {
+            throw new IllegalStateException("초대코드 공간이 모두 소진되었습니다.");
+        }
+        return start;
+    }
+
+    private Long reserve() {
+        IdSequence sequence = idSequenceRepository.findForUpdate(SEQUENCE_NAME)
+                .orElseGet(() -> IdSequence.builder().name(SEQUENCE_NAME).nextValue(0L).build());
+        long start = sequence.getNextValue();
+        sequence.setNextValue(start + blockSize);
+        idSequenceRepository.saveAndFlush(sequence);
+        return start;
+    }
+
+    // [0, 36^6) 범위의 순열: 32비트 Feistel 네트워크 + cycle walking
+    long permute(long counter) {
+        long value = counter;
+        do {
+            value = feistel(value);
+        } while (value >= CODE_SPACE);
+        return value;
+    }
+
+    private long feistel(long value) {
+        int left = (int) (value >>> 16) & 0xFFFF;
+        int right = (int) value & 0xFFFF;
+        for (int i = 0; i < ROUNDS; i++) {
+            int next = left ^ round(right, roundKeys[i]);
+            left = right;
+            right = next;
+        }
+        return ((long) left << 16) | right;
+    }
+
+    private static int round(int half, int key) {
+        int h = (half * 0x9E3779B1) ^ key;
+        h ^= h >>> 15;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        return h & 0xFFFF;
+    }
+
+    static String encode(long value) {
+        char[] code = new char[CODE_LENGTH];
+        for (int i = CODE_LENGTH - 1; i >= 0; i--) {
+            code[i] = ALPHABET.charAt((int) (value % ALPHABET.length()));
+            value /= ALPHABET.length();
+        }
+        return new String(code);
+    }
+
+    private static int[] deriveRoundKeys(String secret) {
+        if (secret == null || secret.isEmpty()) {
+            throw new IllegalStateException("invite-code.secret 설정이 필요합니다.");
+        }
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.UTF_8));
+            ByteBuffer buffer = ByteBuffer.wrap(hash);
+            int[] keys = new int[ROUNDS];
+            for (int i = 0; i < ROUNDS; i++) {
+                keys[i] = buffer.getInt();
+            }
+            return keys;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다.", e);
+        }
+    }
+
+    private static long pow(int base, int exponent) {
+        long result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= base;
+        }
+        return result;
+    }
+}
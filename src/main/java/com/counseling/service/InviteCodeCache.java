@@ -0,0 +1,84 @@
+package com.counseling.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+// 초대코드 → 상담방 조회 결과 캐시
+// 존재하지 않는 코드도 짧은 시간 동안 음성 캐시하여 오타 입력이 매번 DB를 조회하지 않도록 한다
+// 삭제는 이 인스턴스에서만 evict되므로, 다른 인스턴스가 삭제한 상담방은 양성 캐시 TTL이 지나면 다시 조회한다
+@Component
+public class InviteCodeCache {
+
+    private static final int MAX_ENTRIES = 10_000;
+    private static final long POSITIVE_TTL_MILLIS = 300_000;
+    private static final long NEGATIVE_TTL_MILLIS = 30_000;
+
+    private final Map<String, Entry> entries = Collections.synchronizedMap(
+            new LinkedHashMap<>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                    return size() > MAX_ENTRIES;
+                }
+            });
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong negativeHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public InviteCodeCache(MeterRegistry meterRegistry) {
+        FunctionCounter.builder("invite_code_cache.requests", hits, AtomicLong::get)
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("invite_code_cache.requests", negativeHits, AtomicLong::get)
+                .tag("result", "negative_hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("invite_code_cache.requests", misses, AtomicLong::get)
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("invite_code_cache.size", entries, Map::size)
+                .register(meterRegistry);
+    }
+
+    public Optional<RoomRef> resolve(String inviteCode, Function<String, Optional<RoomRef>> loader) {
+        Entry entry = entries.get(inviteCode);
+        if (entry != null && entry.expiresAt > System.currentTimeMillis()) {
+            if (entry.room != null) {
+                hits.incrementAndGet();
+                return Optional.of(entry.room);
+            }
+            negativeHits.incrementAndGet();
+            return Optional.empty();
+        }
+
+        misses.incrementAndGet();
+        Optional<RoomRef> loaded = loader.apply(inviteCode);
+        entries.put(inviteCode, loaded
+                .map(room -> new Entry(room, System.currentTimeMillis() + POSITIVE_TTL_MILLIS))
+                .orElseGet(() -> new Entry(null, System.currentTimeMillis() + NEGATIVE_TTL_MILLIS)));
+        return loaded;
+    }
+
+    // 새 상담방 생성 시 (이전 음성 캐시를 덮어씀)
+    public void put(String inviteCode, String roomId, String name) {
+        entries.put(inviteCode, new Entry(new RoomRef(roomId, name), System.currentTimeMillis() + POSITIVE_TTL_MILLIS));
+    }
+
+    public void evict(String inviteCode) {
+        entries.remove(inviteCode);
+    }
+
+    public record RoomRef(String roomId, String name) {
+    }
+
+    private record Entry(RoomRef room, long expiresAt) {
+    }
+}
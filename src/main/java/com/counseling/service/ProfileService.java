@@ -11,6 +11,7 @@ import com.counseling.repository.DBTCardRepository;
 import com.counseling.repository.RoomMemberRepository;
 import com.counseling.repository.RoomRepository;
 import com.counseling.repository.UserRepository;
+import com.counseling.security.CurrentUserProvider;
 import com.counseling.security.SecurityUtil;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,19 +26,22 @@ public class ProfileService {
     private final RoomRepository roomRepository;
     private final RoomMemberRepository roomMemberRepository;
     private final DBTCardRepository dbtCardRepository;
+    private final CurrentUserProvider currentUserProvider;
+    private final RoomVersionRegistry roomVersionRegistry;
 
     public ProfileService(UserRepository userRepository, RoomRepository roomRepository,
-                         RoomMemberRepository roomMemberRepository, DBTCardRepository dbtCardRepository) {
+                         RoomMemberRepository roomMemberRepository, DBTCardRepository dbtCardRepository,
+                         CurrentUserProvider currentUserProvider, RoomVersionRegistry roomVersionRegistry) {
         this.userRepository = userRepository;
         this.roomRepository = roomRepository;
         this.roomMemberRepository = roomMemberRepository;
         this.dbtCardRepository = dbtCardRepository;
+        this.currentUserProvider = currentUserProvider;
+        this.roomVersionRegistry = roomVersionRegistry;
     }
 
     public ProfileResponse getProfile() {
-        String userId = SecurityUtil.getCurrentUserId();
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
+        User user = currentUserProvider.getCurrentUser();
 
         ProfileResponse.StatsInfo stats;
         List<ProfileResponse.RoomInfo> rooms;
@@ -94,15 +98,24 @@ public class ProfileService {
 
     @Transactional
     public ProfileResponse updateProfile(ProfileUpdateRequest request) {
+        // 수정은 캐시된 스냅샷이 아닌 영속 엔티티로 처리
         String userId = SecurityUtil.getCurrentUserId();
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
 
+        // 상담방 상세/카드 목록에 이름이 포함되므로 참가한 상담방의 버전 갱신
+        // 카드 저장과 같은 잠금 순서(상담방 행 → 사용자 행)가 되도록 이름을 바꾸기 전에 상담방 ID 순서로 갱신
+        roomMemberRepository.findByUser(user).stream()
+                .map(member -> member.getRoom().getRoomId())
+                .sorted()
+                .forEach(roomVersionRegistry::bump);
+
         if (request.getName() != null && !request.getName().isEmpty()) {
             user.setName(request.getName());
         }
 
         userRepository.save(user);
+        currentUserProvider.invalidate(userId);
 
         return ProfileResponse.builder()
                 .userId(user.getUserId())
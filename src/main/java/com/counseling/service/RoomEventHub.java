@@ -0,0 +1,361 @@
+package com.counseling.service;
+
+import com.counseling.config.RoomEventProperties;
+import com.counseling.dto.RoomEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 상담방별 SSE 구독 관리 및 이벤트 전송
+// 연결은 서블릿 비동기 요청으로 유지되어 연결마다 스레드를 점유하지 않는다
+// 전송은 구독자마다 크기 제한이 있는 큐에 넣고 dispatch 스레드가 구독자 단위로 순서대로 처리한다
+// SseEmitter.send는 블로킹 쓰기이므로, 큐가 가득 찬 구독자와 한 번의 전송이 send-timeout을 넘긴 구독자는 연결을 끊는다
+// (클라이언트는 Last-Event-ID로 재연결하여 놓친 이벤트를 받거나 reset을 받는다)
+// 이벤트 ID는 "<인스턴스 접두어>-<순번>"이며, 재연결 시 최근 이벤트를 다시 보내고 복구할 수 없으면 reset을 보낸다
+@Component
+public class RoomEventHub {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomEventHub.class);
+
+    // 큐에 넣는 제어 항목 (heartbeat 주석, 연결 종료)
+    private static final Frame HEARTBEAT = new Frame(null, 0, null, null, 0);
+    private static final Frame CLOSE = new Frame(null, 0, null, null, 0);
+
+    private final RoomEventProperties properties;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolExecutor dispatcher;
+
+    private final String instancePrefix = Long.toString(new SecureRandom().nextLong() & Long.MAX_VALUE, 36);
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, RoomChannel> channels = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicLong droppedSubscribers = new AtomicLong();
+
+    public RoomEventHub(RoomEventProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        AtomicInteger threadCount = new AtomicInteger();
+        // 전송할 것이 없으면 스레드를 반납하고, 느린 연결이 스레드를 잡고 있어도 최대 dispatch-threads까지 늘어난다
+        this.dispatcher = new ThreadPoolExecutor(properties.getDispatchThreads(), properties.getDispatchThreads(),
+                60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "room-events-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        dispatcher.allowCoreThreadTimeOut(true);
+
+        Gauge.builder("room_events.connections", connections, AtomicInteger::get).register(meterRegistry);
+        Gauge.builder("room_events.rooms", channels, Map::size).register(meterRegistry);
+        FunctionCounter.builder("room_events.dropped_subscribers", droppedSubscribers, AtomicLong::get)
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(String roomId, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(properties.getTimeoutMillis());
+        Subscriber subscriber = new Subscriber(roomId, emitter);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> unsubscribe(subscriber));
+
+        // 구독 등록과 재전송 대상 계산을 발행과 같은 키 잠금 안에서 처리하여 누락/중복이 없도록 한다
+        channels.compute(roomId, (key, channel) -> {
+            if (channel == null) {
+                channel = new RoomChannel();
+            }
+            List<Frame> replay = channel.framesAfter(lastEventId);
+            channel.subscribers.add(subscriber);
+            if (replay == null) {
+                subscriber.enqueue(frame(RoomEvent.builder().type(RoomEvent.RESET).roomId(key).build()));
+            } else {
+                replay.forEach(subscriber::enqueue);
+            }
+            return channel;
+        });
+        connections.incrementAndGet();
+        return emitter;
+    }
+
+    public void publish(RoomEvent event) {
+        String roomId = event.getRoomId();
+        if (event.getOccurredAt() == null) {
+            event.setOccurredAt(LocalDateTime.now());
+        }
+        Frame frame = frame(event);
+        if (frame == null) {
+            return;
+        }
+        channels.compute(roomId, (key, channel) -> {
+            if (channel == null) {
+                channel = new RoomChannel();
+            }
+            channel.append(frame);
+            // 발행 시점의 구독자에게만 전송 (이후 구독자는 재전송 목록으로 받음)
+            for (Subscriber subscriber : channel.subscribers) {
+                subscriber.enqueue(frame);
+            }
+            return channel;
+        });
+    }
+
+    // 상담방 삭제 시 마지막 이벤트를 보낸 뒤 연결을 모두 종료
+    public void closeRoom(String roomId) {
+        publish(RoomEvent.builder().type(RoomEvent.ROOM_DELETED).roomId(roomId).build());
+        RoomChannel channel = channels.remove(roomId);
+        if (channel != null) {
+            channel.subscribers.forEach(subscriber -> subscriber.enqueue(CLOSE));
+        }
+    }
+
+    // 유휴 연결이 프록시/로드밸런서에서 끊기지 않도록 주석 이벤트를 보내고, 오래된 재전송 이벤트를 정리
+    // 전송 하나가 send-timeout을 넘겨 멈춘 구독자는 더 이상 이벤트를 쌓지 않고 연결을 끊는다
+    @Scheduled(fixedDelayString = "${room-events.heartbeat-interval:15000}")
+    public void heartbeat() {
+        long cutoff = System.currentTimeMillis() - properties.getReplayRetentionMillis();
+        long stuckBefore = System.currentTimeMillis() - properties.getSendTimeoutMillis();
+        for (String roomId : channels.keySet()) {
+            channels.computeIfPresent(roomId, (key, channel) -> {
+                channel.pruneOlderThan(cutoff);
+                if (channel.subscribers.isEmpty()) {
+                    return channel.recent.isEmpty() ? null : channel;
+                }
+                for (Subscriber subscriber : channel.subscribers) {
+                    long sendStartedAt = subscriber.sendStartedAt;
+                    if (sendStartedAt != 0 && sendStartedAt < stuckBefore) {
+                        drop(subscriber, "전송 시간 초과");
+                    } else if (subscriber.pendingCount.get() == 0) {
+                        subscriber.enqueue(HEARTBEAT);
+                    }
+                }
+                return channel;
+            });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        if (subscriber.closed.compareAndSet(false, true)) {
+            connections.decrementAndGet();
+        }
+        RoomChannel channel = channels.get(subscriber.roomId);
+        if (channel != null) {
+            channel.subscribers.remove(subscriber);
+        }
+    }
+
+    // 따라오지 못하는 구독자의 연결 종료
+    // 호출한 스레드가 막히지 않도록 큐 추가와 종료는 구독자의 전송 작업에서 처리한다
+    // (전송 중에 막혀 있으면 컨테이너의 쓰기 시간 제한으로 풀린 뒤 종료되고, 그동안 다른 구독자는 다른 스레드로 전송)
+    private void drop(Subscriber subscriber, String reason) {
+        if (subscriber.closed.get()) {
+            return;
+        }
+        subscriber.dropReason = reason;
+        unsubscribe(subscriber);
+        droppedSubscribers.incrementAndGet();
+        logger.info("SSE 구독자 연결 종료: roomId={}, 사유={}", subscriber.roomId, reason);
+        subscriber.schedule();
+    }
+
+    private void send(Subscriber subscriber, Frame frame) {
+        if (frame == CLOSE) {
+            unsubscribe(subscriber);
+            subscriber.emitter.complete();
+            return;
+        }
+        subscriber.sendStartedAt = System.currentTimeMillis();
+        try {
+            if (frame == HEARTBEAT) {
+                subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+            } else {
+                SseEmitter.SseEventBuilder builder = SseEmitter.event().name(frame.type).data(frame.json);
+                if (frame.id != null) {
+                    builder.id(frame.id);
+                }
+                subscriber.emitter.send(builder);
+            }
+        } catch (IOException | IllegalStateException e) {
+            // 연결이 끊긴 구독자 (컨테이너가 onError/onCompletion을 호출하지만 즉시 제외)
+            unsubscribe(subscriber);
+        } finally {
+            subscriber.sendStartedAt = 0;
+        }
+    }
+
+    // 구독자 수와 무관하게 이벤트당 한 번만 직렬화
+    private Frame frame(RoomEvent event) {
+        try {
+            String json = objectMapper.writeValueAsString(event);
+            if (RoomEvent.RESET.equals(event.getType())) {
+                return new Frame(null, 0, event.getType(), json, System.currentTimeMillis());
+            }
+            long seq = sequence.incrementAndGet();
+            return new Frame(instancePrefix + "-" + seq, seq, event.getType(), json, System.currentTimeMillis());
+        } catch (JsonProcessingException e) {
+            logger.error("상담방 이벤트 직렬화 실패: {}", event.getType(), e);
+            return null;
+        }
+    }
+
+    private record Frame(String id, long seq, String type, String json, long createdAt) {
+    }
+
+    // 구독자 하나의 전송 큐
+    // 전송 작업은 구독자마다 한 번에 하나씩 실행되어 이벤트 순서가 유지되고, 느린 구독자는 자기 큐만 밀린다
+    private final class Subscriber {
+        private final String roomId;
+        private final SseEmitter emitter;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final Queue<Frame> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        // 진행 중인 전송의 시작 시각 (0이면 전송 중이 아님)
+        private volatile long sendStartedAt;
+        // 따라오지 못해 끊는 경우의 사유
+        private volatile String dropReason;
+
+        private Subscriber(String roomId, SseEmitter emitter) {
+            this.roomId = roomId;
+            this.emitter = emitter;
+        }
+
+        private void enqueue(Frame frame) {
+            if (frame == null || closed.get()) {
+                return;
+            }
+            if (pendingCount.incrementAndGet() > properties.getMaxPendingEvents()) {
+                pendingCount.decrementAndGet();
+                drop(this, "전송 대기 이벤트 초과");
+                return;
+            }
+            pending.add(frame);
+            schedule();
+        }
+
+        private void schedule() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    dispatcher.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                Frame frame;
+                while (!closed.get() && (frame = pending.poll()) != null) {
+                    pendingCount.decrementAndGet();
+                    try {
+                        send(this, frame);
+                    } catch (RuntimeException e) {
+                        logger.warn("상담방 이벤트 전송 중 오류", e);
+                    }
+                }
+                if (closed.get()) {
+                    pending.clear();
+                    pendingCount.set(0);
+                    completeDropped();
+                }
+            } finally {
+                draining.set(false);
+                if (!pending.isEmpty() && !closed.get()) {
+                    schedule();
+                }
+            }
+        }
+
+        private void completeDropped() {
+            String reason = dropReason;
+            if (reason == null) {
+                return;
+            }
+            dropReason = null;
+            try {
+                emitter.completeWithError(new IOException(reason));
+            } catch (RuntimeException e) {
+                logger.debug("SSE 연결 종료 중 오류", e);
+            }
+        }
+    }
+
+    // 상담방 하나의 구독자와 최근 이벤트
+    private final class RoomChannel {
+        private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+        private final ArrayDeque<Frame> recent = new ArrayDeque<>();
+        // 이 순번 이하의 이벤트는 보관하지 않으므로 재전송할 수 없음
+        private long floor = sequence.get();
+
+        // channels 키 잠금 안에서만 호출
+        private void append(Frame frame) {
+            recent.addLast(frame);
+            while (recent.size() > properties.getReplaySize()) {
+                floor = recent.removeFirst().seq;
+            }
+        }
+
+        private void pruneOlderThan(long cutoff) {
+            while (!recent.isEmpty() && recent.peekFirst().createdAt < cutoff) {
+                floor = recent.removeFirst().seq;
+            }
+        }
+
+        // Last-Event-ID 이후의 이벤트 목록 (복구할 수 없으면 null)
+        private List<Frame> framesAfter(String lastEventId) {
+            if (lastEventId == null || lastEventId.isBlank()) {
+                return List.of();
+            }
+            int separator = lastEventId.lastIndexOf('-');
+            if (separator <= 0 || !lastEventId.substring(0, separator).equals(instancePrefix)) {
+                return null;
+            }
+            long lastSeq;
+            try {
+                lastSeq = Long.parseLong(lastEventId.substring(separator + 1));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+            if (lastSeq < floor) {
+                return null;
+            }
+            List<Frame> frames = new ArrayList<>();
+            for (Frame frame : recent) {
+                if (frame.seq > lastSeq) {
+                    frames.add(frame);
+                }
+            }
+            return frames;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.counseling.service;
+
+import com.counseling.entity.SyncTombstone;
+import com.counseling.repository.RoomMemberRepository;
+import com.counseling.repository.SyncTombstoneRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 상담방 멤버십 인메모리 인덱스 (roomId → userId 집합)
+// 시작 시 전체를 적재하고 참가/나가기/생성/삭제 커밋 후 갱신한다
+// 인덱스에 없으면 DB로 확인하므로 다른 인스턴스에서 추가된 멤버도 놓치지 않는다
+// 다른 인스턴스의 나가기/상담방 삭제는 동기화용 삭제 기록(sync_tombstones)을 주기적으로 읽어 제거한다
+@Component
+public class RoomMembershipIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomMembershipIndex.class);
+
+    // 삭제 기록 시각은 커밋 전에 정해지므로, 늦게 커밋된 기록을 놓치지 않도록 겹쳐 읽는 시간
+    private static final long SYNC_OVERLAP_SECONDS = 30;
+
+    private final RoomMemberRepository roomMemberRepository;
+    private final SyncTombstoneRepository syncTombstoneRepository;
+    private final Map<String, Set<String>> membersByRoom = new ConcurrentHashMap<>();
+    private volatile LocalDateTime lastSyncedAt;
+
+    public RoomMembershipIndex(RoomMemberRepository roomMemberRepository,
+                               SyncTombstoneRepository syncTombstoneRepository) {
+        this.roomMemberRepository = roomMemberRepository;
+        this.syncTombstoneRepository = syncTombstoneRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        lastSyncedAt = LocalDateTime.now();
+        long count = 0;
+        for (RoomMemberRepository.Membership membership : roomMemberRepository.findAllMemberships()) {
+            add(membership.getRoomId(), membership.getUserId());
+            count++;
+        }
+        logger.info("상담방 멤버십 인덱스 적재 완료: 상담방 {}개, 멤버십 {}건", membersByRoom.size(), count);
+    }
+
+    // 다른 인스턴스에서 나가거나 삭제된 멤버십 반영
+    // 같은 기록을 여러 번 읽거나 다시 참가한 멤버를 지워도 다음 isMember에서 DB로 다시 확인하므로 안전하다
+    @Scheduled(fixedDelayString = "${room-membership.sync-interval:10000}")
+    @Transactional(readOnly = true)
+    public void syncRemovals() {
+        if (lastSyncedAt == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = lastSyncedAt.minusSeconds(SYNC_OVERLAP_SECONDS);
+        for (SyncTombstone tombstone : syncTombstoneRepository.findByDeletedAtAfter(since)) {
+            remove(tombstone.getRoomId(), tombstone.getUserId());
+        }
+        lastSyncedAt = now;
+    }
+
+    public boolean isMember(String roomId, String userId) {
+        Set<String> members = membersByRoom.get(roomId);
+        if (members != null && members.contains(userId)) {
+            return true;
+        }
+        boolean exists = roomMemberRepository.existsMembership(roomId, userId);
+        if (exists) {
+            add(roomId, userId);
+        }
+        return exists;
+    }
+
+    public void add(String roomId, String userId) {
+        membersByRoom.computeIfAbsent(roomId, key -> ConcurrentHashMap.newKeySet()).add(userId);
+    }
+
+    public void remove(String roomId, String userId) {
+        Set<String> members = membersByRoom.get(roomId);
+        if (members != null) {
+            members.remove(userId);
+        }
+    }
+
+    public void removeRoom(String roomId) {
+        membersByRoom.remove(roomId);
+    }
+}
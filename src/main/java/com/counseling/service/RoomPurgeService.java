@@ -0,0 +1,114 @@
+package com.counseling.service;
+
+import com.counseling.config.RoomPurgeProperties;
+import com.counseling.repository.DBTCardRepository;
+import com.counseling.repository.EmotionKeywordCountRepository;
+import com.counseling.repository.EmotionRollupRepository;
+import com.counseling.repository.RoomMemberRepository;
+import com.counseling.repository.RoomRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+// 삭제 표시된 상담방의 카드/멤버를 백그라운드에서 배치 단위로 삭제
+// 진행 상태는 DB의 tombstone 자체이므로 재시작 후에도 남은 행부터 이어서 처리된다
+@Service
+public class RoomPurgeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomPurgeService.class);
+
+    private final RoomRepository roomRepository;
+    private final RoomMemberRepository roomMemberRepository;
+    private final DBTCardRepository dbtCardRepository;
+    private final EmotionRollupRepository emotionRollupRepository;
+    private final EmotionKeywordCountRepository emotionKeywordCountRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final RoomPurgeProperties properties;
+
+    private final AtomicLong pendingRooms = new AtomicLong();
+    private final Counter purgedCards;
+    private final Counter purgedRollups;
+    private final Counter purgedKeywordCounts;
+    private final Counter purgedMembers;
+    private final Counter purgedRooms;
+
+    public RoomPurgeService(RoomRepository roomRepository, RoomMemberRepository roomMemberRepository,
+                            DBTCardRepository dbtCardRepository, EmotionRollupRepository emotionRollupRepository,
+                            EmotionKeywordCountRepository emotionKeywordCountRepository,
+                            PlatformTransactionManager transactionManager,
+                            RoomPurgeProperties properties, MeterRegistry meterRegistry) {
+        this.roomRepository = roomRepository;
+        this.roomMemberRepository = roomMemberRepository;
+        this.dbtCardRepository = dbtCardRepository;
+        this.emotionRollupRepository = emotionRollupRepository;
+        this.emotionKeywordCountRepository = emotionKeywordCountRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+
+        Gauge.builder("room_purge.pending_rooms", pendingRooms, AtomicLong::get).register(meterRegistry);
+        this.purgedCards = Counter.builder("room_purge.deleted_rows").tag("table", "dbt_cards").register(meterRegistry);
+        this.purgedRollups = Counter.builder("room_purge.deleted_rows").tag("table", "emotion_rollups").register(meterRegistry);
+        this.purgedKeywordCounts = Counter.builder("room_purge.deleted_rows").tag("table", "emotion_keyword_counts").register(meterRegistry);
+        this.purgedMembers = Counter.builder("room_purge.deleted_rows").tag("table", "room_members").register(meterRegistry);
+        this.purgedRooms = Counter.builder("room_purge.deleted_rows").tag("table", "rooms").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${room-purge.interval:10000}")
+    public void purgeDeletedRooms() {
+        pendingRooms.set(roomRepository.countDeletedRooms());
+        List<String> roomIds = roomRepository.findDeletedRoomIds(properties.getRoomsPerRun());
+        for (String roomId : roomIds) {
+            try {
+                purgeRoom(roomId);
+                pendingRooms.decrementAndGet();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                // 다음 실행에서 남은 행부터 다시 시도
+                logger.error("상담방 정리 중 오류 발생: roomId={}", roomId, e);
+            }
+        }
+    }
+
+    private void purgeRoom(String roomId) throws InterruptedException {
+        long start = System.currentTimeMillis();
+        // 자식 테이블부터 삭제
+        long cards = deleteInBatches(() -> dbtCardRepository.deleteBatchByRoomId(roomId, properties.getBatchSize()), purgedCards);
+        deleteInBatches(() -> emotionRollupRepository.deleteBatchByRoomId(roomId, properties.getBatchSize()), purgedRollups);
+        deleteInBatches(() -> emotionKeywordCountRepository.deleteBatchByRoomId(roomId, properties.getBatchSize()), purgedKeywordCounts);
+        long members = deleteInBatches(() -> roomMemberRepository.deleteBatchByRoomId(roomId, properties.getBatchSize()), purgedMembers);
+        Integer rooms = transactionTemplate.execute(status -> roomRepository.purgeDeletedRoom(roomId));
+        purgedRooms.increment(rooms != null ? rooms : 0);
+
+        logger.info("상담방 정리 완료: roomId={}, 카드 {}건, 멤버 {}건, {}ms",
+                roomId, cards, members, System.currentTimeMillis() - start);
+    }
+
+    private long deleteInBatches(IntSupplier deleteBatch, Counter counter) throws InterruptedException {
+        long total = 0;
+        while (true) {
+            Integer deleted = transactionTemplate.execute(status -> deleteBatch.getAsInt());
+            if (deleted == null || deleted == 0) {
+                return total;
+            }
+            total += deleted;
+            counter.increment(deleted);
+            if (deleted < properties.getBatchSize()) {
+                return total;
+            }
+            // DB 부하를 줄이기 위해 배치 사이 대기
+            Thread.sleep(properties.getThrottleMillis());
+        }
+    }
+}
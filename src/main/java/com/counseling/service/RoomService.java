@@ -1,22 +1,31 @@
 package com.counseling.service;
 
+import com.counseling.config.PaginationProperties;
 import com.counseling.dto.*;
 import com.counseling.entity.Room;
 import com.counseling.entity.RoomMember;
+import com.counseling.entity.SyncTombstone;
 import com.counseling.entity.User;
 import com.counseling.exception.BusinessException;
 import com.counseling.exception.ErrorCode;
 import com.counseling.repository.DBTCardRepository;
 import com.counseling.repository.RoomMemberRepository;
 import com.counseling.repository.RoomRepository;
+import com.counseling.repository.SyncTombstoneRepository;
 import com.counseling.repository.UserRepository;
-import com.counseling.security.SecurityUtil;
+import com.counseling.security.CurrentUserProvider;
+import com.counseling.util.CursorCodec;
+import com.counseling.util.TransactionUtil;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -27,32 +36,59 @@ public class RoomService {
     private final RoomMemberRepository roomMemberRepository;
     private final UserRepository userRepository;
     private final DBTCardRepository dbtCardRepository;
+    private final CurrentUserProvider currentUserProvider;
+    private final PaginationProperties paginationProperties;
+    private final InviteCodeAllocator inviteCodeAllocator;
+    private final InviteCodeCache inviteCodeCache;
+    private final RoomMembershipIndex membershipIndex;
+    private final RoomVersionRegistry roomVersionRegistry;
+    private final RoomEventHub roomEventHub;
+    private final CardSearchIndex cardSearchIndex;
+    private final ChangeSequence changeSequence;
+    private final SyncTombstoneRepository syncTombstoneRepository;
 
     public RoomService(RoomRepository roomRepository, RoomMemberRepository roomMemberRepository, 
-                      UserRepository userRepository, DBTCardRepository dbtCardRepository) {
+                      UserRepository userRepository, DBTCardRepository dbtCardRepository,
+                      CurrentUserProvider currentUserProvider, PaginationProperties paginationProperties,
+                      InviteCodeAllocator inviteCodeAllocator, InviteCodeCache inviteCodeCache,
+                      RoomMembershipIndex membershipIndex, RoomVersionRegistry roomVersionRegistry,
+                      RoomEventHub roomEventHub, CardSearchIndex cardSearchIndex,
+                      ChangeSequence changeSequence,
+                      SyncTombstoneRepository syncTombstoneRepository) {
         this.roomRepository = roomRepository;
         this.roomMemberRepository = roomMemberRepository;
         this.userRepository = userRepository;
         this.dbtCardRepository = dbtCardRepository;
+        this.currentUserProvider = currentUserProvider;
+        this.paginationProperties = paginationProperties;
+        this.inviteCodeAllocator = inviteCodeAllocator;
+        this.inviteCodeCache = inviteCodeCache;
+        this.membershipIndex = membershipIndex;
+        this.roomVersionRegistry = roomVersionRegistry;
+        this.roomEventHub = roomEventHub;
+        this.cardSearchIndex = cardSearchIndex;
+        this.changeSequence = changeSequence;
+        this.syncTombstoneRepository = syncTombstoneRepository;
     }
 
     @Transactional
     public RoomResponse createRoom(RoomRequest request) {
-        String userId = SecurityUtil.getCurrentUserId();
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
+        User user = currentUserProvider.getCurrentUser();
 
         if (user.getUserType() != User.UserType.counselor) {
             throw new BusinessException(ErrorCode.FORBIDDEN);
         }
 
-        String inviteCode = generateInviteCode();
+        // 발급기가 중복 없는 코드를 보장하므로 조회 없이 사용 (이전 방식 코드는 발급기가 블록 단위로 제외, unique 제약은 안전장치)
+        String inviteCode = inviteCodeAllocator.nextCode();
+        // 캐시된 사용자는 분리된 복사본이므로 연관관계에는 참조 프록시 사용
+        User userReference = userRepository.getReferenceById(user.getUserId());
 
         Room room = Room.builder()
                 .roomId(UUID.randomUUID().toString())
                 .name(request.getName())
                 .inviteCode(inviteCode)
-                .createdBy(user)
+                .createdBy(userReference)
                 .build();
 
         roomRepository.save(room);
@@ -60,10 +96,16 @@ public class RoomService {
         // 상담사도 멤버로 추가
         RoomMember member = RoomMember.builder()
                 .room(room)
-                .user(user)
+                .user(userReference)
+                .changeSeq(changeSequence.next(user.getUserId()))
                 .build();
         roomMemberRepository.save(member);
 
+        TransactionUtil.afterCommit(() -> {
+            inviteCodeCache.put(room.getInviteCode(), room.getRoomId(), room.getName());
+            membershipIndex.add(room.getRoomId(), user.getUserId());
+        });
+
         return RoomResponse.builder()
                 .roomId(room.getRoomId())
                 .name(room.getName())
@@ -74,43 +116,76 @@ public class RoomService {
                 .build();
     }
 
-    public List<RoomResponse> getRooms() {
-        String userId = SecurityUtil.getCurrentUserId();
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
+    public CursorPage<RoomResponse> getRooms(String cursor, Integer size) {
+        User user = currentUserProvider.getCurrentUser();
+        String userId = user.getUserId();
+
+        String[] after = CursorCodec.decode(cursor, 2);
+        LocalDateTime afterCreatedAt = after != null ? parseCursorTime(after[0]) : null;
+        String afterRoomId = after != null ? after[1] : null;
+        int pageSize = paginationProperties.resolveSize(size);
+        // 다음 페이지 존재 여부 확인을 위해 1건 더 조회
+        Pageable limit = PageRequest.of(0, pageSize + 1);
 
-        List<Room> rooms;
+        // 상담방 수와 무관하게 한 번의 집계 쿼리로 조회
+        List<RoomRepository.RoomSummary> rooms;
         if (user.getUserType() == User.UserType.counselor) {
-            rooms = roomRepository.findByCreatedBy(user);
+            rooms = roomRepository.findRoomSummariesByCreator(userId, User.UserType.client, afterCreatedAt, afterRoomId, limit);
         } else {
-            rooms = roomRepository.findRoomsByUserId(userId);
-        }
-
-        return rooms.stream().map(room -> {
-            List<RoomMember> members = roomMemberRepository.findByRoom(room);
-            long clientCount = members.stream()
-                    .filter(m -> m.getUser().getUserType() == User.UserType.client)
-                    .count();
-
-            RoomMember member = roomMemberRepository.findByRoomAndUser(room, user).orElse(null);
-            LocalDateTime joinedAt = member != null ? member.getJoinedAt() : null;
-
-            return RoomResponse.builder()
-                    .roomId(room.getRoomId())
-                    .name(room.getName())
-                    .inviteCode(room.getInviteCode())
-                    .createdAt(room.getCreatedAt())
-                    .createdBy(room.getCreatedBy().getUserId())
-                    .clientCount((int) clientCount)
-                    .joinedAt(joinedAt)
-                    .build();
-        }).collect(Collectors.toList());
+            rooms = roomRepository.findRoomSummariesByMember(userId, User.UserType.client, afterCreatedAt, afterRoomId, limit);
+        }
+
+        return CursorPage.of(rooms, pageSize, room -> RoomResponse.builder()
+                        .roomId(room.getRoomId())
+                        .name(room.getName())
+                        .inviteCode(room.getInviteCode())
+                        .createdAt(room.getCreatedAt())
+                        .createdBy(room.getCreatedBy())
+                        .clientCount(room.getClientCount() != null ? room.getClientCount().intValue() : 0)
+                        .joinedAt(room.getJoinedAt())
+                        .build(),
+                room -> CursorCodec.encode(room.getCreatedAt().toString(), room.getRoomId()));
+    }
+
+    private LocalDateTime parseCursorTime(String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (Exception e) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR, "올바르지 않은 커서입니다.");
+        }
+    }
+
+    // 엔티티 조회 없이 권한을 확인할 수 있으면 현재 버전의 ETag 반환 (확인할 수 없으면 null)
+    // 상담사는 자신이 만든 상담방에만 멤버로 등록되므로 멤버십만으로 권한 확인 가능
+    public String getRoomDetailETag(String roomId) {
+        User user = currentUserProvider.getCurrentUser();
+        if (!membershipIndex.isMember(roomId, user.getUserId())) {
+            return null;
+        }
+        return roomVersionRegistry.etag(roomId);
+    }
+
+    // 상담방 이벤트 구독 (상담방을 만든 상담사만 가능)
+    public SseEmitter subscribeEvents(String roomId, String lastEventId) {
+        User user = currentUserProvider.getCurrentUser();
+
+        if (user.getUserType() != User.UserType.counselor) {
+            throw new BusinessException(ErrorCode.FORBIDDEN);
+        }
+
+        if (!membershipIndex.isMember(roomId, user.getUserId())) {
+            if (!roomRepository.existsById(roomId)) {
+                throw new BusinessException(ErrorCode.ROOM_NOT_FOUND);
+            }
+            throw new BusinessException(ErrorCode.FORBIDDEN);
+        }
+
+        return roomEventHub.subscribe(roomId, lastEventId);
     }
 
     public RoomResponse getRoomDetail(String roomId) {
-        String userId = SecurityUtil.getCurrentUserId();
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
+        User user = currentUserProvider.getCurrentUser();
+        String userId = user.getUserId();
 
         Room room = roomRepository.findById(roomId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.ROOM_NOT_FOUND));
@@ -121,7 +196,7 @@ public class RoomService {
                 throw new BusinessException(ErrorCode.FORBIDDEN);
             }
         } else {
-            if (!roomMemberRepository.existsByRoomAndUser(room, user)) {
+            if (!membershipIndex.isMember(roomId, userId)) {
                 throw new BusinessException(ErrorCode.FORBIDDEN);
             }
         }
@@ -153,47 +228,59 @@ public class RoomService {
 
     @Transactional
     public RoomResponse joinRoom(JoinRoomRequest request) {
-        String userId = SecurityUtil.getCurrentUserId();
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
+        User user = currentUserProvider.getCurrentUser();
 
         if (user.getUserType() != User.UserType.client) {
             throw new BusinessException(ErrorCode.FORBIDDEN);
         }
 
-        Room room = roomRepository.findByInviteCode(request.getInviteCode())
+        // 같은 코드로 연달아 참가하는 경우가 많아 캐시에서 상담방을 찾고, 없는 코드도 잠시 캐시
+        InviteCodeCache.RoomRef roomRef = inviteCodeCache.resolve(request.getInviteCode(), code ->
+                        roomRepository.findByInviteCode(code)
+                                .map(found -> new InviteCodeCache.RoomRef(found.getRoomId(), found.getName())))
                 .orElseThrow(() -> new BusinessException(ErrorCode.INVALID_INVITE_CODE));
+        Room room = roomRepository.getReferenceById(roomRef.roomId());
 
-        if (roomMemberRepository.existsByRoomAndUser(room, user)) {
+        if (membershipIndex.isMember(roomRef.roomId(), user.getUserId())) {
             throw new BusinessException(ErrorCode.ALREADY_JOINED);
         }
 
+        // 카드 저장과 같은 순서(상담방 행 → 순번 행)로 잠금
+        // 캐시된 코드라도 다른 인스턴스에서 삭제되었을 수 있으므로, 버전 갱신이 삭제되지 않은 상담방에만 적용됐는지로 확인
+        if (!roomVersionRegistry.bump(roomRef.roomId())) {
+            inviteCodeCache.evict(request.getInviteCode());
+            throw new BusinessException(ErrorCode.ROOM_NOT_FOUND);
+        }
+        long changeSeq = changeSequence.next(user.getUserId());
         RoomMember member = RoomMember.builder()
                 .room(room)
-                .user(user)
+                .user(userRepository.getReferenceById(user.getUserId()))
+                .changeSeq(changeSeq)
                 .build();
         roomMemberRepository.save(member);
+        // 나갔다가 다시 참가한 경우 이전에 쓴 카드도 다시 동기화되도록 같은 순번으로 표시
+        dbtCardRepository.markChanged(roomRef.roomId(), user.getUserId(), changeSeq);
+        TransactionUtil.afterCommit(() -> {
+            membershipIndex.add(roomRef.roomId(), user.getUserId());
+            roomEventHub.publish(RoomEvent.builder()
+                    .type(RoomEvent.MEMBER_JOINED)
+                    .roomId(roomRef.roomId())
+                    .userId(user.getUserId())
+                    .name(user.getName())
+                    .build());
+        });
 
         return RoomResponse.builder()
-                .roomId(room.getRoomId())
-                .name(room.getName())
+                .roomId(roomRef.roomId())
+                .name(roomRef.name())
                 .joinedAt(member.getJoinedAt())
                 .build();
     }
 
-    private String generateInviteCode() {
-        String code;
-        do {
-            code = generateRandomCode();
-        } while (roomRepository.findByInviteCode(code).isPresent());
-        return code;
-    }
-
     @Transactional
     public void deleteRoom(String roomId) {
-        String userId = SecurityUtil.getCurrentUserId();
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
+        User user = currentUserProvider.getCurrentUser();
+        String userId = user.getUserId();
 
         if (user.getUserType() != User.UserType.counselor) {
             throw new BusinessException(ErrorCode.FORBIDDEN);
@@ -208,22 +295,38 @@ public class RoomService {
             throw new BusinessException(ErrorCode.FORBIDDEN);
         }
 
-        // 관련 데이터 삭제 (순서 중요: 자식 엔티티를 먼저 삭제)
-        // DBTCard 삭제
-        dbtCardRepository.deleteByRoom(room);
-        
-        // RoomMember 삭제
-        roomMemberRepository.deleteByRoom(room);
-        
-        // Room 삭제
-        roomRepository.delete(room);
+        String inviteCode = room.getInviteCode();
+
+        // 카드 저장과 같은 순서(상담방 행 → 순번 행)로 잠그도록 버전을 먼저 올린 뒤 멤버마다 동기화용 삭제 기록
+        roomVersionRegistry.bump(roomId);
+        List<String> memberIds = roomMemberRepository.findByRoom(room).stream()
+                .map(member -> member.getUser().getUserId())
+                .toList();
+        for (Map.Entry<String, Long> sequence : changeSequence.next(memberIds).entrySet()) {
+            syncTombstoneRepository.save(SyncTombstone.builder()
+                    .userId(sequence.getKey())
+                    .roomId(roomId)
+                    .changeSeq(sequence.getValue())
+                    .build());
+        }
+
+        // 상담방은 삭제 표시만 하여 즉시 조회에서 제외하고,
+        // 카드/멤버는 RoomPurgeService가 백그라운드에서 배치 단위로 삭제
+        roomRepository.markDeleted(roomId, LocalDateTime.now());
+
+        inviteCodeCache.evict(inviteCode);
+        TransactionUtil.afterCommit(() -> {
+            inviteCodeCache.evict(inviteCode);
+            membershipIndex.removeRoom(roomId);
+            roomEventHub.closeRoom(roomId);
+            cardSearchIndex.removeRoom(roomId);
+        });
     }
 
     @Transactional
     public void leaveRoom(String roomId) {
-        String userId = SecurityUtil.getCurrentUserId();
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
+        User user = currentUserProvider.getCurrentUser();
+        String userId = user.getUserId();
 
         if (user.getUserType() != User.UserType.client) {
             throw new BusinessException(ErrorCode.FORBIDDEN);
@@ -237,19 +340,30 @@ public class RoomService {
             throw new BusinessException(ErrorCode.FORBIDDEN, "상담사는 상담방을 나갈 수 없습니다.");
         }
 
-        RoomMember member = roomMemberRepository.findByRoomAndUser(room, user)
+        // 카드 저장과 같은 순서(멤버십 행 → 상담방 행 → 순번 행)로 잠금
+        if (roomRepository.lockForMemberWrite(roomId, userId).isEmpty()) {
+            throw new BusinessException(ErrorCode.FORBIDDEN, "상담방에 참가하지 않은 사용자입니다.");
+        }
+        if (!roomVersionRegistry.bump(roomId)) {
+            throw new BusinessException(ErrorCode.ROOM_NOT_FOUND);
+        }
+        RoomMember member = roomMemberRepository.findByRoomAndUser(room, userRepository.getReferenceById(userId))
                 .orElseThrow(() -> new BusinessException(ErrorCode.FORBIDDEN, "상담방에 참가하지 않은 사용자입니다."));
 
         roomMemberRepository.delete(member);
-    }
-
-    private String generateRandomCode() {
-        String chars = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
-        StringBuilder code = new StringBuilder();
-        for (int i = 0; i < 6; i++) {
-            code.append(chars.charAt((int) (Math.random() * chars.length())));
-        }
-        return code.toString();
+        syncTombstoneRepository.save(SyncTombstone.builder()
+                .userId(userId)
+                .roomId(roomId)
+                .changeSeq(changeSequence.next(userId))
+                .build());
+        TransactionUtil.afterCommit(() -> {
+            membershipIndex.remove(roomId, userId);
+            roomEventHub.publish(RoomEvent.builder()
+                    .type(RoomEvent.MEMBER_LEFT)
+                    .roomId(roomId)
+                    .userId(userId)
+                    .build());
+        });
     }
 }
 
@@ -0,0 +1,38 @@
+package com.counseling.service;
+
+import com.counseling.repository.RoomRepository;
+import org.springframework.stereotype.Component;
+
+// 상담방별 변경 버전 (ETag 생성용)
+// rooms.version을 카드 저장, 멤버 변경, 상담방 변경과 같은 트랜잭션에서 증가시키므로
+// 어느 인스턴스에서 처리한 변경이든 모든 인스턴스의 ETag에 반영된다 (ETag 확인은 PK 조회 한 번)
+@Component
+public class RoomVersionRegistry {
+
+    private final RoomRepository roomRepository;
+
+    public RoomVersionRegistry(RoomRepository roomRepository) {
+        this.roomRepository = roomRepository;
+    }
+
+    public String etag(String roomId) {
+        return etag(roomId, null);
+    }
+
+    // variant: 같은 URL이라도 사용자마다 응답이 다른 경우 구분값
+    public String etag(String roomId, String variant) {
+        long version = roomRepository.findVersion(roomId).orElse(0L);
+        StringBuilder etag = new StringBuilder("\"").append(version);
+        if (variant != null) {
+            etag.append('-').append(Integer.toHexString(variant.hashCode()));
+        }
+        return etag.append('"').toString();
+    }
+
+    // 쓰기 트랜잭션 안에서 호출 (상담방 행을 잠그므로, 카드/멤버 INSERT의 외래 키 확인보다 먼저 호출해야
+    // 공유 잠금 → 배타 잠금 승격으로 인한 교착이 생기지 않는다)
+    // 상담방이 없거나 삭제 표시되었으면 false
+    public boolean bump(String roomId) {
+        return roomRepository.incrementVersion(roomId) > 0;
+    }
+}
@@ -0,0 +1,149 @@
+package com.counseling.service;
+
+import com.counseling.config.PaginationProperties;
+import com.counseling.dto.RoomResponse;
+import com.counseling.dto.SyncChange;
+import com.counseling.dto.SyncResponse;
+import com.counseling.entity.DBTCard;
+import com.counseling.entity.Room;
+import com.counseling.entity.RoomMember;
+import com.counseling.entity.SyncTombstone;
+import com.counseling.entity.User;
+import com.counseling.exception.BusinessException;
+import com.counseling.exception.ErrorCode;
+import com.counseling.repository.DBTCardRepository;
+import com.counseling.repository.RoomMemberRepository;
+import com.counseling.repository.SyncTombstoneRepository;
+import com.counseling.security.CurrentUserProvider;
+import com.counseling.util.CursorCodec;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// 모바일 클라이언트용 변경분 동기화
+// 커서 이후에 참가한 상담방, 바뀐 내 카드(내담자만), 삭제 기록을 사용자별 변경 순번 순서대로 돌려준다
+// 세 목록을 각각 (change_seq, ID) 인덱스로 size + 1건씩 읽어 병합하므로 비용은 전체 이력이 아니라 변경 건수에 비례한다
+// 커서는 (순번, 종류, ID) 키셋이며, 같은 순번 안에서는 상담방 → 카드 → 삭제 순서 (다시 참가한 상담방이 그 카드보다 먼저 온다)
+@Service
+public class SyncService {
+
+    private static final int ROOM = 0;
+    private static final int CARD = 1;
+    private static final int DELETED = 2;
+
+    // 같은 (순번, 종류) 안에서는 DB 정렬 순서를 그대로 유지 (안정 정렬)
+    private static final Comparator<Entry> ORDER = Comparator.comparingLong(Entry::seq)
+            .thenComparingInt(Entry::kind);
+
+    private final RoomMemberRepository roomMemberRepository;
+    private final DBTCardRepository dbtCardRepository;
+    private final SyncTombstoneRepository syncTombstoneRepository;
+    private final DBTCardService dbtCardService;
+    private final CurrentUserProvider currentUserProvider;
+    private final PaginationProperties paginationProperties;
+
+    public SyncService(RoomMemberRepository roomMemberRepository, DBTCardRepository dbtCardRepository,
+                       SyncTombstoneRepository syncTombstoneRepository, DBTCardService dbtCardService,
+                       CurrentUserProvider currentUserProvider, PaginationProperties paginationProperties) {
+        this.roomMemberRepository = roomMemberRepository;
+        this.dbtCardRepository = dbtCardRepository;
+        this.syncTombstoneRepository = syncTombstoneRepository;
+        this.dbtCardService = dbtCardService;
+        this.currentUserProvider = currentUserProvider;
+        this.paginationProperties = paginationProperties;
+    }
+
+    // since가 없으면 처음부터 (현재 참가 중인 상담방과 카드 전체)
+    @Transactional(readOnly = true)
+    public SyncResponse getChanges(String since, Integer size) {
+        User user = currentUserProvider.getCurrentUser();
+        String userId = user.getUserId();
+        Position after = Position.decode(since);
+        int pageSize = paginationProperties.resolveSize(size);
+        // 다음 페이지 존재 여부 확인을 위해 1건 더 조회
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<Entry> entries = new ArrayList<>();
+        for (RoomMember member : roomMemberRepository.findChangedSince(userId, after.seq(), after.afterId(ROOM), limit)) {
+            Room room = member.getRoom();
+            entries.add(new Entry(member.getChangeSeq(), ROOM, room.getRoomId(), SyncChange.builder()
+                    .type(SyncChange.ROOM_SAVED)
+                    .roomId(room.getRoomId())
+                    .room(RoomResponse.builder()
+                            .roomId(room.getRoomId())
+                            .name(room.getName())
+                            .createdAt(room.getCreatedAt())
+                            .createdBy(room.getCreatedBy().getUserId())
+                            .joinedAt(member.getJoinedAt())
+                            .build())
+                    .build()));
+        }
+        // 상담사는 내담자 카드를 동기화하지 않음 (상담방 목록만)
+        if (user.getUserType() == User.UserType.client) {
+            for (DBTCard card : dbtCardRepository.findChangedSince(userId, after.seq(), after.afterId(CARD), limit)) {
+                entries.add(new Entry(card.getChangeSeq(), CARD, card.getCardId(), SyncChange.builder()
+                        .type(SyncChange.CARD_SAVED)
+                        .roomId(card.getRoom().getRoomId())
+                        .card(dbtCardService.toResponse(card))
+                        .build()));
+            }
+        }
+        for (SyncTombstone tombstone : syncTombstoneRepository.findChangedSince(userId, after.seq(), after.afterId(DELETED), limit)) {
+            entries.add(new Entry(tombstone.getChangeSeq(), DELETED, tombstone.getRoomId(), SyncChange.builder()
+                    .type(SyncChange.ROOM_DELETED)
+                    .roomId(tombstone.getRoomId())
+                    .build()));
+        }
+
+        entries.sort(ORDER);
+        boolean hasMore = entries.size() > pageSize;
+        List<Entry> page = hasMore ? entries.subList(0, pageSize) : entries;
+        String cursor = page.isEmpty() ? since : page.get(page.size() - 1).position().encode();
+
+        return SyncResponse.builder()
+                .changes(page.stream().map(Entry::change).toList())
+                .cursor(cursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    private record Entry(long seq, int kind, String id, SyncChange change) {
+        Position position() {
+            return new Position(seq, kind, id);
+        }
+    }
+
+    private record Position(long seq, int kind, String id) {
+        // 순번은 1부터 발급되고 기존 데이터는 0이므로 -1이면 전체
+        private static final Position START = new Position(-1, ROOM, null);
+
+        static Position decode(String cursor) {
+            String[] parts = CursorCodec.decode(cursor, 3);
+            if (parts == null) {
+                return START;
+            }
+            try {
+                return new Position(Long.parseLong(parts[0]), Integer.parseInt(parts[1]), parts[2]);
+            } catch (NumberFormatException e) {
+                throw new BusinessException(ErrorCode.VALIDATION_ERROR, "올바르지 않은 커서입니다.");
+            }
+        }
+
+        String encode() {
+            return CursorCodec.encode(Long.toString(seq), Integer.toString(kind), id);
+        }
+
+        // 목록별 같은 순번 안에서의 시작 ID: 커서보다 앞선 종류면 같은 순번 전체 제외(null), 뒤의 종류면 전체 포함("")
+        String afterId(int listKind) {
+            if (listKind < kind) {
+                return null;
+            }
+            return listKind == kind ? id : "";
+        }
+    }
+}
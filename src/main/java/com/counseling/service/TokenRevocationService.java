@@ -0,0 +1,121 @@
+package com.counseling.service;
+
+import com.counseling.entity.RevokedToken;
+import com.counseling.repository.RevokedTokenRepository;
+import com.counseling.util.BloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class TokenRevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private static final int EXPECTED_REVOCATIONS = 100_000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    // 다른 인스턴스에서 폐기된 토큰을 가져올 때 시계 오차를 고려한 여유 시간
+    private static final long SYNC_OVERLAP_SECONDS = 30;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    // 블룸 필터는 대부분의 정상 토큰을 바로 통과시키고, 양성인 경우에만 정확한 맵을 확인
+    private volatile BloomFilter bloomFilter = newBloomFilter();
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    private volatile LocalDateTime lastSyncedAt;
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository) {
+        this.revokedTokenRepository = revokedTokenRepository;
+    }
+
+    // 요청마다 호출되므로 DB 접근, 락, 객체 할당 없이 동작해야 함
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !bloomFilter.mightContain(tokenId)) {
+            return false;
+        }
+        Long expiresAt = revokedTokens.get(tokenId);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    @Transactional
+    public void revoke(String tokenId, String userId, Date expiration) {
+        if (tokenId == null || expiration == null || expiration.getTime() <= System.currentTimeMillis()) {
+            return;
+        }
+        if (!revokedTokenRepository.existsById(tokenId)) {
+            revokedTokenRepository.save(RevokedToken.builder()
+                    .tokenId(tokenId)
+                    .userId(userId)
+                    .expiresAt(LocalDateTime.ofInstant(expiration.toInstant(), ZoneId.systemDefault()))
+                    .build());
+        }
+        register(tokenId, expiration.getTime());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadRevokedTokens() {
+        LocalDateTime now = LocalDateTime.now();
+        List<RevokedToken> tokens = revokedTokenRepository.findByExpiresAtAfter(now);
+        tokens.forEach(this::register);
+        lastSyncedAt = now;
+        logger.info("폐기된 토큰 {}건 로드 완료", tokens.size());
+    }
+
+    // 다른 인스턴스에서 폐기된 토큰 반영
+    @Scheduled(fixedDelayString = "${jwt.revocation-sync-interval:60000}")
+    @Transactional(readOnly = true)
+    public void syncRevokedTokens() {
+        if (lastSyncedAt == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = lastSyncedAt.minusSeconds(SYNC_OVERLAP_SECONDS);
+        revokedTokenRepository.findByRevokedAtAfterAndExpiresAtAfter(since, now).forEach(this::register);
+        lastSyncedAt = now;
+    }
+
+    // 만료된 항목은 DB와 메모리에서 제거하고 블룸 필터를 다시 구성
+    @Scheduled(fixedDelayString = "${jwt.revocation-prune-interval:3600000}")
+    @Transactional
+    public void pruneExpired() {
+        int deleted = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+        long now = System.currentTimeMillis();
+        revokedTokens.values().removeIf(expiresAt -> expiresAt <= now);
+
+        BloomFilter rebuilt = newBloomFilter();
+        revokedTokens.keySet().forEach(rebuilt::put);
+        bloomFilter = rebuilt;
+        // 교체 직전에 이전 필터에만 추가된 항목을 다시 반영
+        revokedTokens.keySet().forEach(rebuilt::put);
+
+        if (deleted > 0) {
+            logger.info("만료된 폐기 토큰 {}건 정리", deleted);
+        }
+    }
+
+    private void register(RevokedToken token) {
+        long expiresAt = token.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        register(token.getTokenId(), expiresAt);
+    }
+
+    private void register(String tokenId, long expiresAt) {
+        revokedTokens.put(tokenId, expiresAt);
+        bloomFilter.put(tokenId);
+    }
+
+    private static BloomFilter newBloomFilter() {
+        return new BloomFilter(EXPECTED_REVOCATIONS, FALSE_POSITIVE_RATE);
+    }
+}
@@ -0,0 +1,38 @@
+package com.counseling.util;
+
+import com.counseling.exception.BusinessException;
+import com.counseling.exception.ErrorCode;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// 키셋 페이지네이션용 커서 인코딩 (클라이언트에게는 불투명한 문자열)
+public class CursorCodec {
+
+    private static final String SEPARATOR = "|";
+
+    private CursorCodec() {
+    }
+
+    public static String encode(String... parts) {
+        String joined = String.join(SEPARATOR, parts);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(joined.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 커서가 없으면 null 반환
+    public static String[] decode(String cursor, int expectedParts) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            String joined = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = joined.split("\\|", -1);
+            if (parts.length != expectedParts) {
+                throw new IllegalArgumentException("Unexpected cursor: " + joined);
+            }
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR, "올바르지 않은 커서입니다.");
+        }
+    }
+}
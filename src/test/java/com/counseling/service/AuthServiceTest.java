@@ -5,15 +5,20 @@ import com.counseling.exception.BusinessException;
 import com.counseling.exception.ErrorCode;
 import com.counseling.repository.UserRepository;
 import com.counseling.security.SecurityUtil;
+import com.counseling.util.JwtUtil;
+import io.jsonwebtoken.Claims;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -32,6 +37,12 @@ class AuthServiceTest {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
     private User testUser;
 
     @BeforeEach
@@ -59,6 +70,23 @@ class AuthServiceTest {
         assertDoesNotThrow(() -> authService.logout());
     }
 
+    @Test
+    @DisplayName("로그아웃한 토큰은 폐기 목록에 등록됨")
+    void testLogout_RevokesToken() {
+        // given
+        String token = jwtUtil.generateToken(testUser.getUserId(), testUser.getUserType().name());
+        Claims claims = jwtUtil.parseVerifiedClaims(token);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(testUser.getUserId(), claims, List.of()));
+        assertFalse(tokenRevocationService.isRevoked(claims.getId()));
+
+        // when
+        authService.logout();
+
+        // then
+        assertTrue(tokenRevocationService.isRevoked(claims.getId()));
+    }
+
     @Test
     @DisplayName("인증되지 않은 사용자가 로그아웃 시도 시 실패")
     void testLogout_Unauthorized() {
@@ -76,6 +104,7 @@ class AuthServiceTest {
     @org.junit.jupiter.api.AfterEach
     void tearDown() {
         SecurityUtil.clearTestUserId();
+        SecurityContextHolder.clearContext();
     }
 }
 
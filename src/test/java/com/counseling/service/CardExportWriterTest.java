@@ -0,0 +1,61 @@
+package com.counseling.service;
+
+import com.counseling.entity.DBTCard;
+import com.counseling.entity.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CardExportWriterTest {
+
+    @Test
+    @DisplayName("CSV 숫자 항목도 숫자가 아니면 따옴표 처리와 수식 방지를 적용")
+    void testCsv_NumberColumnsEscaped() throws IOException {
+        // given
+        DBTCard card = DBTCard.builder()
+                .client(User.builder().userId("client-1").name("내담자").email("client@test.com").build())
+                .date(LocalDate.of(2024, 3, 4))
+                .thoughtIntensity("=HYPERLINK(\"http://example.com\")")
+                .anger("3,4")
+                .joy("5")
+                .build();
+
+        // when
+        String row = csvRow(card);
+
+        // then
+        assertTrue(row.contains(",\"'=HYPERLINK(\"\"http://example.com\"\")\","), row);
+        assertTrue(row.contains(",\"3,4\","), row);
+        assertTrue(row.contains(",5,"), row);
+        assertEquals(CardExportColumn.values().length - 1, countSeparators(row), row);
+    }
+
+    private static String csvRow(DBTCard card) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (CardExportWriter writer = CardExportWriter.open(CardExportFormat.CSV, out, null, null, 0)) {
+            writer.write(card);
+            writer.finish();
+        }
+        return out.toString(StandardCharsets.UTF_8).split("\r\n")[1];
+    }
+
+    // 따옴표 밖의 쉼표 수 (열 경계)
+    private static int countSeparators(String row) {
+        int count = 0;
+        boolean quoted = false;
+        for (char c : row.toCharArray()) {
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == ',' && !quoted) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,216 @@
+package com.counseling.service;
+
+import com.counseling.config.CardSearchProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CardSearchIndexTest {
+
+    private static final String ROOM_ID = "room-1";
+    private static final LocalDate DATE = LocalDate.of(2024, 3, 4);
+
+    private CardSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CardSearchIndex(new CardSearchProperties(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("한 글자 단어는 1-gram, 두 글자 이상은 2-gram으로 변환")
+    void testQueryTerms_Ngrams() {
+        assertEquals(1, CardSearchIndex.queryTerms("화").length);
+        assertEquals(1, CardSearchIndex.queryTerms("화가").length);
+        assertEquals(2, CardSearchIndex.queryTerms("화가 났다").length);
+        assertEquals(2, CardSearchIndex.queryTerms("발표가").length);
+        assertNotEquals(CardSearchIndex.queryTerms("화")[0], CardSearchIndex.queryTerms("화가")[0]);
+    }
+
+    @Test
+    @DisplayName("검색어는 정규화하고 구두점으로 나누며 중복 n-gram은 한 번만 사용")
+    void testQueryTerms_NormalizedAndDeduplicated() {
+        assertArrayEquals(CardSearchIndex.queryTerms("abc"), CardSearchIndex.queryTerms("ＡＢＣ"));
+        assertArrayEquals(CardSearchIndex.queryTerms("화가 났다"), CardSearchIndex.queryTerms("화가, 났다!"));
+        assertEquals(1, CardSearchIndex.queryTerms("화가 화가").length);
+        assertEquals(0, CardSearchIndex.queryTerms("!!! ...").length);
+        assertEquals(0, CardSearchIndex.queryTerms("").length);
+    }
+
+    @Test
+    @DisplayName("조사가 붙은 단어도 부분 일치로 검색")
+    void testSearch_MatchesInsideWords() {
+        // given
+        CardSearchIndex.Document card = document("card-1", "client-1", DATE, 0,
+                CardSearchIndex.Field.THOUGHT_TEXT, "발표가 너무 긴장됐다");
+
+        // when & then
+        assertEquals(List.of("card-1"), cardIds(search("발표", null, card)));
+        assertEquals(List.of("card-1"), cardIds(search("긴장", null)));
+        assertEquals(List.of(), cardIds(search("시험", null)));
+    }
+
+    @Test
+    @DisplayName("여러 단어는 모두 포함한 카드만 검색")
+    void testSearch_AllTermsRequired() {
+        // given
+        CardSearchIndex.Document both = document("card-1", "client-1", DATE, 0,
+                CardSearchIndex.Field.THOUGHT_TEXT, "발표 때문에 불안했다");
+        CardSearchIndex.Document one = document("card-2", "client-1", DATE.plusDays(1), 0,
+                CardSearchIndex.Field.THOUGHT_TEXT, "발표를 잘 마쳤다");
+
+        // when
+        List<CardSearchIndex.Hit> hits = search("발표 불안", null, both, one);
+
+        // then
+        assertEquals(List.of("card-1"), cardIds(hits));
+    }
+
+    @Test
+    @DisplayName("검색어가 자주 나오고 짧은 카드가 먼저 정렬")
+    void testSearch_RankedByBm25() {
+        // given
+        CardSearchIndex.Document frequent = document("card-1", "client-1", DATE, 0,
+                CardSearchIndex.Field.THOUGHT_TEXT, "불안 불안 불안");
+        CardSearchIndex.Document once = document("card-2", "client-1", DATE.plusDays(1), 0,
+                CardSearchIndex.Field.THOUGHT_TEXT, "불안 그리고 다른 여러 가지 생각이 많았다");
+        CardSearchIndex.Document shortOnce = document("card-3", "client-1", DATE.plusDays(2), 0,
+                CardSearchIndex.Field.THOUGHT_TEXT, "불안했다");
+        CardSearchIndex.Document unrelated = document("card-4", "client-1", DATE.plusDays(3), 0,
+                CardSearchIndex.Field.THOUGHT_TEXT, "평온한 하루");
+
+        // when
+        List<CardSearchIndex.Hit> hits = search("불안", null, frequent, once, shortOnce, unrelated);
+
+        // then
+        assertEquals(List.of("card-1", "card-3", "card-2"), cardIds(hits));
+        assertTrue(hits.get(0).score() > hits.get(1).score());
+        assertTrue(hits.get(1).score() > hits.get(2).score());
+    }
+
+    @Test
+    @DisplayName("점수가 같으면 최근 날짜의 카드가 먼저")
+    void testSearch_TieBrokenByDate() {
+        // given
+        CardSearchIndex.Document older = document("card-1", "client-1", DATE, 0,
+                CardSearchIndex.Field.THOUGHT_TEXT, "불안했다");
+        CardSearchIndex.Document newer = document("card-2", "client-1", DATE.plusDays(1), 0,
+                CardSearchIndex.Field.THOUGHT_TEXT, "불안했다");
+
+        // when
+        List<CardSearchIndex.Hit> hits = search("불안", null, older, newer);
+
+        // then
+        assertEquals(List.of("card-2", "card-1"), cardIds(hits));
+        assertEquals(hits.get(0).score(), hits.get(1).score(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("검색어가 나온 항목 이름을 함께 반환")
+    void testSearch_ReportsMatchedFields() {
+        // given
+        CardSearchIndex.Document card = document("card-1", "client-1", DATE, 0,
+                CardSearchIndex.Field.ANGER_KEYWORD, "짜증");
+
+        // when
+        List<CardSearchIndex.Hit> hits = search("짜증", null, card);
+
+        // then
+        assertEquals(List.of("angerKeyword"), hits.get(0).fields());
+    }
+
+    @Test
+    @DisplayName("내담자 필터와 offset/limit 적용")
+    void testSearch_ClientFilterAndPaging() {
+        // given
+        CardSearchIndex.Document first = document("card-1", "client-1", DATE, 0,
+                CardSearchIndex.Field.THOUGHT_TEXT, "불안했다");
+        CardSearchIndex.Document second = document("card-2", "client-1", DATE.plusDays(1), 0,
+                CardSearchIndex.Field.THOUGHT_TEXT, "불안했다");
+        CardSearchIndex.Document other = document("card-3", "client-2", DATE.plusDays(2), 0,
+                CardSearchIndex.Field.THOUGHT_TEXT, "불안했다");
+        int[] terms = CardSearchIndex.queryTerms("불안");
+
+        // when
+        List<CardSearchIndex.Hit> filtered = index.search(ROOM_ID, terms, "client-1", 0, 10, 0,
+                () -> Stream.of(first, second, other), since -> Stream.empty());
+        List<CardSearchIndex.Hit> secondPage = index.search(ROOM_ID, terms, null, 1, 1, 0,
+                Stream::empty, since -> Stream.empty());
+
+        // then
+        assertEquals(List.of("card-2", "card-1"), cardIds(filtered));
+        assertEquals(List.of("card-2"), cardIds(secondPage));
+    }
+
+    @Test
+    @DisplayName("더 최신 버전으로 갱신하면 이전 내용은 검색되지 않고, 오래된 버전은 무시")
+    void testUpdate_ReplacesOnlyWithNewerVersion() {
+        // given
+        search("불안", null, document("card-1", "client-1", DATE, 1,
+                CardSearchIndex.Field.THOUGHT_TEXT, "불안했다"));
+
+        // when
+        index.update(document("card-1", "client-1", DATE, 2, CardSearchIndex.Field.THOUGHT_TEXT, "평온했다"));
+        index.update(document("card-1", "client-1", DATE, 1, CardSearchIndex.Field.THOUGHT_TEXT, "화가 났다"));
+
+        // then
+        assertEquals(List.of(), cardIds(search("불안", null)));
+        assertEquals(List.of(), cardIds(search("화가", null)));
+        assertEquals(List.of("card-1"), cardIds(search("평온", null)));
+    }
+
+    @Test
+    @DisplayName("상담방 버전이 색인보다 크면 색인을 만든 시점 이전부터 수정된 카드만 읽어 반영")
+    void testSearch_CatchesUpWhenRoomVersionAdvances() {
+        // given
+        LocalDateTime beforeLoad = LocalDateTime.now();
+        search("불안", null, document("card-1", "client-1", DATE, 0, CardSearchIndex.Field.THOUGHT_TEXT, "불안했다"));
+        CardSearchIndex.Document changed = document("card-1", "client-1", DATE, 1,
+                CardSearchIndex.Field.THOUGHT_TEXT, "평온했다");
+        List<LocalDateTime> requested = new ArrayList<>();
+        int[] terms = CardSearchIndex.queryTerms("평온");
+
+        // when
+        List<CardSearchIndex.Hit> sameVersion = index.search(ROOM_ID, terms, null, 0, 10, 0, Stream::empty, since -> {
+            requested.add(since);
+            return Stream.of(changed);
+        });
+        List<CardSearchIndex.Hit> newerVersion = index.search(ROOM_ID, terms, null, 0, 10, 1, Stream::empty, since -> {
+            requested.add(since);
+            return Stream.of(changed);
+        });
+
+        // then
+        assertEquals(List.of(), cardIds(sameVersion));
+        assertEquals(List.of("card-1"), cardIds(newerVersion));
+        assertEquals(1, requested.size());
+        assertTrue(requested.get(0).isBefore(beforeLoad));
+        assertEquals(List.of(), cardIds(search("불안", null)));
+    }
+
+    // 색인이 없으면 주어진 카드로 만들고, 이미 있으면 그대로 검색
+    private List<CardSearchIndex.Hit> search(String query, String clientId, CardSearchIndex.Document... documents) {
+        return index.search(ROOM_ID, CardSearchIndex.queryTerms(query), clientId, 0, 10, 0,
+                () -> Stream.of(documents), since -> Stream.empty());
+    }
+
+    private static CardSearchIndex.Document document(String cardId, String clientId, LocalDate date, long version,
+                                                     CardSearchIndex.Field field, String text) {
+        String[] texts = new String[CardSearchIndex.Field.values().length];
+        texts[field.ordinal()] = text;
+        return new CardSearchIndex.Document(cardId, ROOM_ID, clientId, date, version, texts);
+    }
+
+    private static List<String> cardIds(List<CardSearchIndex.Hit> hits) {
+        return hits.stream().map(CardSearchIndex.Hit::cardId).toList();
+    }
+}
@@ -0,0 +1,147 @@
+package com.counseling.service;
+
+import com.counseling.entity.DBTCard;
+import com.counseling.exception.BusinessException;
+import com.counseling.exception.ErrorCode;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DBTCardMergePatchTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private DBTCard card;
+
+    @BeforeEach
+    void setUp() {
+        card = DBTCard.builder()
+                .headerName("내담자")
+                .headerWrittenDuringCounseling(DBTCard.YesNo.no)
+                .headerFrequency("daily")
+                .thoughtText("발표 전에 긴장했다")
+                .thoughtIntensity("3")
+                .medication(DBTCard.YesNo.yes)
+                .anger("2")
+                .angerKeyword("짜증")
+                .build();
+    }
+
+    @Test
+    @DisplayName("패치에 없는 항목은 그대로 유지")
+    void testApply_AbsentMembersKept() {
+        apply("{\"dayData\": {\"thoughtIntensity\": 5}}");
+
+        assertEquals("5", card.getThoughtIntensity());
+        assertEquals("발표 전에 긴장했다", card.getThoughtText());
+        assertEquals("2", card.getAnger());
+        assertEquals("짜증", card.getAngerKeyword());
+        assertEquals(DBTCard.YesNo.yes, card.getMedication());
+        assertEquals("내담자", card.getHeaderName());
+        assertEquals("daily", card.getHeaderFrequency());
+    }
+
+    @Test
+    @DisplayName("빈 패치는 아무것도 바꾸지 않음")
+    void testApply_EmptyPatch() {
+        apply("{}");
+
+        assertEquals("발표 전에 긴장했다", card.getThoughtText());
+        assertEquals(DBTCard.YesNo.no, card.getHeaderWrittenDuringCounseling());
+    }
+
+    @Test
+    @DisplayName("null 값은 해당 항목만 지움")
+    void testApply_NullClearsField() {
+        apply("{\"dayData\": {\"angerKeyword\": null}}");
+
+        assertNull(card.getAngerKeyword());
+        assertEquals("2", card.getAnger());
+        assertEquals("발표 전에 긴장했다", card.getThoughtText());
+    }
+
+    @Test
+    @DisplayName("섹션이 null이면 섹션의 모든 항목을 지우고 다른 섹션은 유지")
+    void testApply_NullSectionClearsSection() {
+        apply("{\"dayData\": null}");
+
+        assertNull(card.getThoughtText());
+        assertNull(card.getThoughtIntensity());
+        assertNull(card.getMedication());
+        assertNull(card.getAnger());
+        assertNull(card.getAngerKeyword());
+        assertEquals("내담자", card.getHeaderName());
+        assertEquals(DBTCard.YesNo.no, card.getHeaderWrittenDuringCounseling());
+        assertEquals("daily", card.getHeaderFrequency());
+    }
+
+    @Test
+    @DisplayName("header 섹션 null은 header 항목만 지움")
+    void testApply_NullHeaderSection() {
+        apply("{\"header\": null}");
+
+        assertNull(card.getHeaderName());
+        assertNull(card.getHeaderWrittenDuringCounseling());
+        assertNull(card.getHeaderFrequency());
+        assertEquals("발표 전에 긴장했다", card.getThoughtText());
+    }
+
+    @Test
+    @DisplayName("알 수 없는 최상위 항목은 거부")
+    void testApply_UnknownTopLevelRejected() {
+        assertValidationError("{\"comment\": \"메모\"}");
+    }
+
+    @Test
+    @DisplayName("알 수 없는 섹션 항목은 거부하고 카드를 바꾸지 않음")
+    void testApply_UnknownFieldRejected() {
+        assertValidationError("{\"dayData\": {\"unknownField\": \"1\"}}");
+        assertEquals("발표 전에 긴장했다", card.getThoughtText());
+    }
+
+    @Test
+    @DisplayName("문자열/숫자/null이 아닌 값은 거부")
+    void testApply_NonScalarValueRejected() {
+        assertValidationError("{\"dayData\": {\"anger\": [1, 2]}}");
+        assertValidationError("{\"dayData\": {\"anger\": true}}");
+        assertValidationError("{\"dayData\": \"text\"}");
+        assertValidationError("[]");
+    }
+
+    @Test
+    @DisplayName("yes/no 항목은 yes 또는 no만 허용")
+    void testApply_YesNoValidated() {
+        apply("{\"header\": {\"writtenDuringCounseling\": \"yes\"}, \"dayData\": {\"medication\": \"no\"}}");
+        assertEquals(DBTCard.YesNo.yes, card.getHeaderWrittenDuringCounseling());
+        assertEquals(DBTCard.YesNo.no, card.getMedication());
+
+        apply("{\"dayData\": {\"medication\": null}}");
+        assertNull(card.getMedication());
+
+        assertValidationError("{\"dayData\": {\"medication\": \"maybe\"}}");
+        assertValidationError("{\"header\": {\"writtenDuringCounseling\": \"YES\"}}");
+    }
+
+    private void apply(String json) {
+        DBTCardMergePatch.apply(card, parse(json));
+    }
+
+    private void assertValidationError(String json) {
+        JsonNode patch = parse(json);
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> DBTCardMergePatch.apply(card, patch));
+        assertEquals(ErrorCode.VALIDATION_ERROR, exception.getErrorCode());
+    }
+
+    private JsonNode parse(String json) {
+        try {
+            return objectMapper.readTree(json);
+        } catch (Exception e) {
+            throw new IllegalArgumentException(json, e);
+        }
+    }
+}
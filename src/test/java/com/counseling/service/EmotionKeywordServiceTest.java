@@ -0,0 +1,142 @@
+package com.counseling.service;
+
+import com.counseling.config.EmotionKeywordProperties;
+import com.counseling.entity.EmotionKeywordCount;
+import com.counseling.entity.EmotionRollup;
+import com.counseling.repository.DBTCardRepository;
+import com.counseling.repository.EmotionKeywordCountRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class EmotionKeywordServiceTest {
+
+    private static final String ROOM_ID = "room-1";
+    private static final String CLIENT_ID = "client-1";
+    private static final EmotionKeywordCount.Emotion ANGER = EmotionKeywordCount.Emotion.ANGER;
+    private static final EmotionKeywordCount.Emotion FEAR = EmotionKeywordCount.Emotion.FEAR;
+
+    private final LocalDate thisWeek = EmotionRollup.PeriodType.WEEK.startOf(LocalDate.now());
+
+    private EmotionKeywordCountRepository repository;
+    private EmotionKeywordProperties properties;
+    private EmotionKeywordService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(EmotionKeywordCountRepository.class);
+        properties = new EmotionKeywordProperties();
+        service = new EmotionKeywordService(repository, mock(DBTCardRepository.class), mock(EntityManager.class),
+                mock(PlatformTransactionManager.class), properties);
+    }
+
+    @Test
+    @DisplayName("키워드 입력은 구분자로 나누고 공백/대소문자를 정리하며 중복을 제거")
+    void testParse_SplitsAndNormalizes() {
+        assertEquals(List.of("짜증", "분노"), EmotionKeywordService.parse("짜증, 분노 / 짜증"));
+        assertEquals(List.of("very angry"), EmotionKeywordService.parse("  Very   ANGRY ; "));
+        assertEquals(List.of("a", "b"), EmotionKeywordService.parse("a·b\nA"));
+        assertEquals(List.of(), EmotionKeywordService.parse(null));
+        assertEquals(List.of(), EmotionKeywordService.parse("  "));
+    }
+
+    @Test
+    @DisplayName("새 카드는 감정별 키워드마다 해당 주의 횟수를 1씩 증가")
+    void testApply_NewCardIncrements() {
+        // when
+        service.apply(ROOM_ID, null, keywords(thisWeek.plusDays(2),
+                Map.of(ANGER, List.of("짜증", "분노"), FEAR, List.of("발표"))));
+
+        // then
+        verify(repository).addCount(ROOM_ID, CLIENT_ID, "ANGER", thisWeek, "짜증", 1);
+        verify(repository).addCount(ROOM_ID, CLIENT_ID, "ANGER", thisWeek, "분노", 1);
+        verify(repository).addCount(ROOM_ID, CLIENT_ID, "FEAR", thisWeek, "발표", 1);
+    }
+
+    @Test
+    @DisplayName("카드 수정은 빠진 키워드만 빼고 새 키워드만 더하며, 정해진 순서로 반영")
+    void testApply_UpdateAppliesDifferenceInOrder() {
+        // given
+        LocalDate date = thisWeek.plusDays(1);
+        EmotionKeywordService.CardKeywords before = keywords(date, Map.of(ANGER, List.of("짜증", "억울")));
+        EmotionKeywordService.CardKeywords after = keywords(date, Map.of(ANGER, List.of("짜증", "분노")));
+
+        // when
+        service.apply(ROOM_ID, before, after);
+
+        // then
+        InOrder order = inOrder(repository);
+        order.verify(repository).addCount(ROOM_ID, CLIENT_ID, "ANGER", thisWeek, "분노", 1);
+        order.verify(repository).addCount(ROOM_ID, CLIENT_ID, "ANGER", thisWeek, "억울", -1);
+        verify(repository, never()).addCount(anyString(), anyString(), anyString(), any(), eq("짜증"), anyLong());
+    }
+
+    @Test
+    @DisplayName("키워드가 그대로면 집계 행을 건드리지 않음")
+    void testApply_UnchangedKeywordsSkipped() {
+        // given
+        EmotionKeywordService.CardKeywords before = keywords(thisWeek, Map.of(ANGER, List.of("짜증")));
+        EmotionKeywordService.CardKeywords after = keywords(thisWeek, Map.of(ANGER, List.of("짜증")));
+
+        // when
+        service.apply(ROOM_ID, before, after);
+
+        // then
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("보관 기간보다 오래된 주의 카드는 세지 않음")
+    void testApply_IgnoresWeeksBeyondRetention() {
+        // given
+        properties.setRetentionWeeks(4);
+
+        // when
+        service.apply(ROOM_ID, null, keywords(thisWeek.minusWeeks(4), Map.of(ANGER, List.of("짜증"))));
+
+        // then
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("상위 키워드 조회는 저장된 합계를 그대로 반환")
+    void testTop_MapsRows() {
+        // given
+        when(repository.findTop(eq(ROOM_ID), isNull(), eq("ANGER"), eq(thisWeek.minusWeeks(3)), eq(thisWeek), anyInt()))
+                .thenReturn(List.of(new Object[]{"짜증", 4L}, new Object[]{"분노", 2}));
+
+        // when
+        List<EmotionKeywordService.KeywordCount> top = service.top(ROOM_ID, null, ANGER,
+                thisWeek.minusWeeks(3), thisWeek, 10);
+
+        // then
+        assertEquals(List.of(new EmotionKeywordService.KeywordCount("짜증", 4),
+                new EmotionKeywordService.KeywordCount("분노", 2)), top);
+    }
+
+    private static EmotionKeywordService.CardKeywords keywords(LocalDate date,
+                                                             Map<EmotionKeywordCount.Emotion, List<String>> keywords) {
+        return new EmotionKeywordService.CardKeywords(CLIENT_ID, date, keywords);
+    }
+}
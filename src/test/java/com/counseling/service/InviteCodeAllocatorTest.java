@@ -0,0 +1,139 @@
+package com.counseling.service;
+
+import com.counseling.config.InviteCodeProperties;
+import com.counseling.entity.IdSequence;
+import com.counseling.repository.IdSequenceRepository;
+import com.counseling.repository.RoomRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class InviteCodeAllocatorTest {
+
+    private static final long CODE_SPACE = 2_176_782_336L; // 36^6
+    private static final int SAMPLE_SIZE = 200_000;
+    private static final String ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+
+    private IdSequenceRepository idSequenceRepository;
+    private RoomRepository roomRepository;
+    private IdSequence sequence;
+
+    @BeforeEach
+    void setUp() {
+        idSequenceRepository = mock(IdSequenceRepository.class);
+        roomRepository = mock(RoomRepository.class);
+        sequence = IdSequence.builder().name("invite_code").nextValue(0L).build();
+        when(idSequenceRepository.findForUpdate(any())).thenReturn(Optional.of(sequence));
+        when(roomRepository.findExistingInviteCodes(anyCollection())).thenReturn(Set.of());
+    }
+
+    @Test
+    @DisplayName("순열 결과는 항상 코드 공간 안이며 샘플 구간에서 서로 겹치지 않음")
+    void testPermute_SampledRangeIsInjective() {
+        // given
+        InviteCodeAllocator allocator = allocator("test-secret", 100);
+        Set<Long> outputs = new HashSet<>();
+
+        // when
+        for (long counter = 0; counter < SAMPLE_SIZE; counter++) {
+            outputs.add(allocator.permute(counter));
+        }
+        for (long counter = CODE_SPACE - SAMPLE_SIZE; counter < CODE_SPACE; counter++) {
+            outputs.add(allocator.permute(counter));
+        }
+
+        // then
+        assertEquals(2 * SAMPLE_SIZE, outputs.size());
+        assertTrue(outputs.stream().allMatch(value -> value >= 0 && value < CODE_SPACE));
+    }
+
+    @Test
+    @DisplayName("비밀 키가 다르면 다른 순서로 발급")
+    void testPermute_DependsOnSecret() {
+        // given
+        InviteCodeAllocator first = allocator("secret-a", 100);
+        InviteCodeAllocator second = allocator("secret-b", 100);
+
+        // when
+        int same = 0;
+        for (long counter = 0; counter < 1000; counter++) {
+            if (first.permute(counter) == second.permute(counter)) {
+                same++;
+            }
+        }
+
+        // then
+        assertTrue(same < 10);
+    }
+
+    @Test
+    @DisplayName("코드는 영문 대문자와 숫자로 된 6자리")
+    void testEncode_SixCharactersFromAlphabet() {
+        // given
+        InviteCodeAllocator allocator = allocator("test-secret", 100);
+
+        // when & then
+        assertEquals("AAAAAA", InviteCodeAllocator.encode(0));
+        assertEquals("999999", InviteCodeAllocator.encode(CODE_SPACE - 1));
+        for (long counter = 0; counter < 10_000; counter++) {
+            String code = InviteCodeAllocator.encode(allocator.permute(counter));
+            assertEquals(6, code.length());
+            assertTrue(code.chars().allMatch(c -> ALPHABET.indexOf(c) >= 0), code);
+        }
+    }
+
+    @Test
+    @DisplayName("이전 방식으로 이미 쓰인 코드는 건너뜀")
+    void testNextCode_SkipsExistingCodes() {
+        // given
+        InviteCodeAllocator allocator = allocator("test-secret", 3);
+        String taken = InviteCodeAllocator.encode(allocator.permute(0));
+        when(roomRepository.findExistingInviteCodes(anyCollection())).thenReturn(Set.of(taken));
+
+        // when
+        String first = allocator.nextCode();
+        String second = allocator.nextCode();
+
+        // then
+        assertEquals(InviteCodeAllocator.encode(allocator.permute(1)), first);
+        assertEquals(InviteCodeAllocator.encode(allocator.permute(2)), second);
+        assertEquals(3L, sequence.getNextValue());
+    }
+
+    @Test
+    @DisplayName("블록의 코드가 모두 쓰였으면 다음 블록을 예약")
+    void testNextCode_WholeBlockTakenReservesNext() {
+        // given
+        InviteCodeAllocator allocator = allocator("test-secret", 2);
+        when(roomRepository.findExistingInviteCodes(anyCollection()))
+                .thenAnswer(invocation -> new HashSet<>(invocation.<Collection<String>>getArgument(0)))
+                .thenReturn(Set.of());
+
+        // when
+        String code = allocator.nextCode();
+
+        // then
+        assertEquals(InviteCodeAllocator.encode(allocator.permute(2)), code);
+        assertEquals(4L, sequence.getNextValue());
+    }
+
+    private InviteCodeAllocator allocator(String secret, int blockSize) {
+        InviteCodeProperties properties = new InviteCodeProperties();
+        properties.setSecret(secret);
+        properties.setBlockSize(blockSize);
+        return new InviteCodeAllocator(idSequenceRepository, roomRepository,
+                mock(PlatformTransactionManager.class), properties);
+    }
+}
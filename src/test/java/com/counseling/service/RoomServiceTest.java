@@ -1,5 +1,8 @@
 package com.counseling.service;
 
+import com.counseling.dto.CursorPage;
+import com.counseling.dto.JoinRoomRequest;
+import com.counseling.dto.RoomResponse;
 import com.counseling.entity.Room;
 import com.counseling.entity.RoomMember;
 import com.counseling.entity.User;
@@ -10,6 +13,10 @@ import com.counseling.repository.RoomMemberRepository;
 import com.counseling.repository.RoomRepository;
 import com.counseling.repository.UserRepository;
 import com.counseling.security.SecurityUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -19,11 +26,13 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@SpringBootTest
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @ActiveProfiles("local")
 @Transactional
 class RoomServiceTest {
@@ -43,9 +52,21 @@ class RoomServiceTest {
     @Autowired
     private DBTCardRepository dbtCardRepository;
 
+    @Autowired
+    private RoomMembershipIndex membershipIndex;
+
+    @Autowired
+    private InviteCodeCache inviteCodeCache;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     private User counselor;
     private User client;
     private Room room;
@@ -111,6 +132,24 @@ class RoomServiceTest {
         assertTrue(roomMemberRepository.existsByRoomAndUser(room, counselor));
     }
 
+    @Test
+    @DisplayName("다른 인스턴스에서 나간 내담자는 동기화 후 멤버십 인덱스에서 제외")
+    void testLeaveRoom_RemovalSyncedToIndex() {
+        // given
+        assertTrue(membershipIndex.isMember(room.getRoomId(), client.getUserId()));
+        SecurityUtil.setCurrentUserId(client.getUserId());
+        roomService.leaveRoom(room.getRoomId());
+        // 테스트 트랜잭션은 커밋되지 않아 로컬 제거가 실행되지 않으므로, 다른 인스턴스처럼 인덱스에 남아 있음
+        assertTrue(membershipIndex.isMember(room.getRoomId(), client.getUserId()));
+
+        // when
+        membershipIndex.syncRemovals();
+
+        // then
+        assertFalse(membershipIndex.isMember(room.getRoomId(), client.getUserId()));
+        assertTrue(membershipIndex.isMember(room.getRoomId(), counselor.getUserId()));
+    }
+
     @Test
     @DisplayName("상담사가 상담방 나가기 시도 시 실패")
     void testLeaveRoom_CounselorCannotLeave() {
@@ -243,6 +282,141 @@ class RoomServiceTest {
         assertEquals(0, roomMemberRepository.findByRoom(room).size());
     }
 
+    @Test
+    @DisplayName("캐시된 초대코드라도 삭제된 상담방이면 참가 실패")
+    void testJoinRoom_CachedCodeOfDeletedRoom() {
+        // given
+        User anotherClient = User.builder()
+                .userId(UUID.randomUUID().toString())
+                .email("join_client@test.com")
+                .password(passwordEncoder.encode("password123"))
+                .name("참가 내담자")
+                .userType(User.UserType.client)
+                .build();
+        userRepository.save(anotherClient);
+        inviteCodeCache.put(room.getInviteCode(), room.getRoomId(), room.getName());
+        roomRepository.markDeleted(room.getRoomId(), LocalDateTime.now());
+        SecurityUtil.setCurrentUserId(anotherClient.getUserId());
+        JoinRoomRequest request = new JoinRoomRequest();
+        request.setInviteCode(room.getInviteCode());
+
+        // when & then
+        BusinessException exception = assertThrows(BusinessException.class, () -> roomService.joinRoom(request));
+        assertEquals(ErrorCode.ROOM_NOT_FOUND, exception.getErrorCode());
+        inviteCodeCache.evict(room.getInviteCode());
+    }
+
+    @Test
+    @DisplayName("삭제 표시된 상담방은 목록과 초대코드 조회에서 제외")
+    void testDeletedRoom_ExcludedFromListAndJoin() {
+        // given
+        User anotherClient = User.builder()
+                .userId(UUID.randomUUID().toString())
+                .email("deleted_room_client@test.com")
+                .password(passwordEncoder.encode("password123"))
+                .name("참가 내담자")
+                .userType(User.UserType.client)
+                .build();
+        userRepository.save(anotherClient);
+        inviteCodeCache.evict(room.getInviteCode());
+        roomRepository.markDeleted(room.getRoomId(), LocalDateTime.now());
+        JoinRoomRequest request = new JoinRoomRequest();
+        request.setInviteCode(room.getInviteCode());
+
+        // when & then
+        assertTrue(roomRepository.findById(room.getRoomId()).isEmpty());
+        assertTrue(roomRepository.findByInviteCode(room.getInviteCode()).isEmpty());
+
+        SecurityUtil.setCurrentUserId(counselor.getUserId());
+        assertTrue(roomService.getRooms(null, null).getItems().isEmpty());
+        SecurityUtil.setCurrentUserId(client.getUserId());
+        assertTrue(roomService.getRooms(null, null).getItems().isEmpty());
+
+        SecurityUtil.setCurrentUserId(anotherClient.getUserId());
+        BusinessException exception = assertThrows(BusinessException.class, () -> roomService.joinRoom(request));
+        assertEquals(ErrorCode.INVALID_INVITE_CODE, exception.getErrorCode());
+        inviteCodeCache.evict(room.getInviteCode());
+    }
+
+    @Test
+    @DisplayName("상담방 목록 조회 쿼리 수는 상담방/멤버 수와 무관")
+    void testGetRooms_ConstantStatementCount() {
+        // given
+        SecurityUtil.setCurrentUserId(counselor.getUserId());
+        roomService.getRooms(null, null); // 현재 사용자 캐시 적재
+        long statementsWithOneRoom = countStatements(() -> roomService.getRooms(null, null));
+
+        for (int i = 0; i < 5; i++) {
+            Room anotherRoom = Room.builder()
+                    .roomId(UUID.randomUUID().toString())
+                    .name("추가 상담방 " + i)
+                    .inviteCode("TESTR" + i)
+                    .createdBy(counselor)
+                    .build();
+            roomRepository.save(anotherRoom);
+            roomMemberRepository.save(RoomMember.builder().room(anotherRoom).user(counselor).build());
+            for (int j = 0; j < 3; j++) {
+                User roomClient = User.builder()
+                        .userId(UUID.randomUUID().toString())
+                        .email("room_client_" + i + "_" + j + "@test.com")
+                        .password("password123")
+                        .name("추가 내담자")
+                        .userType(User.UserType.client)
+                        .build();
+                userRepository.save(roomClient);
+                roomMemberRepository.save(RoomMember.builder().room(anotherRoom).user(roomClient).build());
+            }
+        }
+
+        // when
+        long statementsWithManyRooms = countStatements(() -> roomService.getRooms(null, null));
+        List<RoomResponse> rooms = roomService.getRooms(null, null).getItems();
+
+        // then
+        assertEquals(1, statementsWithOneRoom);
+        assertEquals(statementsWithOneRoom, statementsWithManyRooms);
+        assertEquals(6, rooms.size());
+        assertTrue(rooms.stream()
+                .filter(r -> !r.getRoomId().equals(room.getRoomId()))
+                .allMatch(r -> r.getClientCount() == 3 && r.getJoinedAt() != null));
+    }
+
+    @Test
+    @DisplayName("상담방 목록 커서 페이지네이션")
+    void testGetRooms_CursorPagination() {
+        // given
+        SecurityUtil.setCurrentUserId(counselor.getUserId());
+        for (int i = 0; i < 4; i++) {
+            Room anotherRoom = Room.builder()
+                    .roomId(UUID.randomUUID().toString())
+                    .name("페이지 상담방 " + i)
+                    .inviteCode("TESTP" + i)
+                    .createdBy(counselor)
+                    .build();
+            roomRepository.save(anotherRoom);
+        }
+
+        // when
+        CursorPage<RoomResponse> first = roomService.getRooms(null, 3);
+        CursorPage<RoomResponse> second = roomService.getRooms(first.getNext(), 3);
+
+        // then
+        assertEquals(3, first.getItems().size());
+        assertNotNull(first.getNext());
+        assertEquals(2, second.getItems().size());
+        assertNull(second.getNext());
+        assertTrue(second.getItems().stream().noneMatch(r -> first.getItems().stream()
+                .anyMatch(f -> f.getRoomId().equals(r.getRoomId()))));
+    }
+
+    private long countStatements(Runnable action) {
+        entityManager.flush();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
     @org.junit.jupiter.api.AfterEach
     void tearDown() {
         SecurityUtil.clearTestUserId();